@@ -0,0 +1,35 @@
+package org.buildcode.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Published on send-notification-event for the notification service. {@code riderStatus} tells it what happened;
+ * saved search matches also carry the ride and saved search they are about.
+ */
+@Value
+@Builder(toBuilder = true)
+public class NotificationEvent {
+
+    String riderId;
+
+    String ownerId;
+
+    String source;
+
+    String destination;
+
+    Long fare;
+
+    String vehicleNumber;
+
+    String riderStatus;
+
+    String rideId;
+
+    String savedSearchId;
+
+    String departureDate;
+
+    String departureTime;
+}
@@ -0,0 +1,49 @@
+package org.buildcode.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Published on ride-created-event once a ride is on chain. Carries what consumers need to index and store the
+ * ride; owner secrets such as the device token stay in the trip service.
+ */
+@Value
+@Builder(toBuilder = true)
+public class RideCreatedEvent {
+
+    String id;
+
+    String ownerId;
+
+    String source;
+
+    String destination;
+
+    Long seats;
+
+    Long fare;
+
+    String vehicleNumber;
+
+    String status;
+
+    String departureDate;
+
+    String departureTime;
+
+    Double sourceLatitude;
+
+    Double sourceLongitude;
+
+    Double destinationLatitude;
+
+    Double destinationLongitude;
+
+    String route;
+
+    // Epoch milliseconds
+    Long createdAt;
+
+    // Epoch milliseconds
+    Long updatedAt;
+}
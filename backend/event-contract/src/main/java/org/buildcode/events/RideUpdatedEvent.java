@@ -0,0 +1,39 @@
+package org.buildcode.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Published on ride-updated-event for every change of a ride. Only the fields that changed are set, so absent
+ * fields mean "unchanged", not "cleared".
+ */
+@Value
+@Builder(toBuilder = true)
+public class RideUpdatedEvent {
+
+    String rideId;
+
+    String ownerId;
+
+    Long seats;
+
+    String status;
+
+    // Epoch seconds of the change on chain
+    Long updatedAt;
+
+    // Orders the changes of a ride for consumers that may see them out of order
+    Long version;
+
+    String source;
+
+    String destination;
+
+    Long fare;
+
+    String vehicleNumber;
+
+    String departureDate;
+
+    String departureTime;
+}
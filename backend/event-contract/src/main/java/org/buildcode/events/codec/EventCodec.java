@@ -0,0 +1,26 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.schema.Schema;
+
+/**
+ * Binary encoding of one event type. Codecs are stateless and thread-safe. Decoding accepts any version of
+ * the codec's schema: unknown fields are skipped and missing ones stay null.
+ */
+public interface EventCodec<T> {
+
+    Schema schema();
+
+    byte[] encode(T event);
+
+    // Throws MalformedEventException when the message is not an event of this schema
+    T decode(byte[] message);
+
+    default EventReader open(byte[] message) {
+        EventReader reader = new EventReader(message);
+        if (reader.schemaId() != schema().getId()) {
+            throw new MalformedEventException("Expected a " + schema().getSubject() + " event (schema "
+                    + schema().getId() + ") but found schema " + reader.schemaId());
+        }
+        return reader;
+    }
+}
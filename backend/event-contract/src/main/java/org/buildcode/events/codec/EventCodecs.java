@@ -0,0 +1,17 @@
+package org.buildcode.events.codec;
+
+import java.util.List;
+
+public final class EventCodecs {
+
+    public static final RideCreatedEventCodec RIDE_CREATED = new RideCreatedEventCodec();
+
+    public static final RideUpdatedEventCodec RIDE_UPDATED = new RideUpdatedEventCodec();
+
+    public static final NotificationEventCodec NOTIFICATION = new NotificationEventCodec();
+
+    public static final List<EventCodec<?>> ALL = List.of(RIDE_CREATED, RIDE_UPDATED, NOTIFICATION);
+
+    private EventCodecs() {
+    }
+}
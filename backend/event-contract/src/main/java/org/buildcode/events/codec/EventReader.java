@@ -0,0 +1,135 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.schema.FieldType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a binary event written by {@link EventWriter} field by field. Callers loop on {@link #nextField()} and
+ * read the value of the fields they know; anything else goes to {@link #skip()}, which only needs the wire type
+ * carried in the key. That is what lets a reader built against an older schema read newer messages.
+ */
+public final class EventReader {
+
+    // Never the first byte of a JSON document, so binary and JSON messages can share a topic during a rollout
+    public static final byte MAGIC = (byte) 0xC3;
+
+    private final byte[] message;
+
+    private final int schemaId;
+
+    private final int schemaVersion;
+
+    private int position;
+
+    private int wireType;
+
+    public EventReader(byte[] message) {
+        if (!isBinary(message)) {
+            throw new MalformedEventException("Message is not a binary event");
+        }
+        this.message = message;
+        this.position = 1;
+        this.schemaId = (int) readVarint();
+        this.schemaVersion = (int) readVarint();
+    }
+
+    public static boolean isBinary(byte[] message) {
+        return message != null && message.length > 0 && message[0] == MAGIC;
+    }
+
+    public int schemaId() {
+        return schemaId;
+    }
+
+    public int schemaVersion() {
+        return schemaVersion;
+    }
+
+    // Number of the next field, or 0 once the message is exhausted
+    public int nextField() {
+        if (position == message.length) {
+            return 0;
+        }
+        long key = readVarint();
+        wireType = (int) (key & 0x7);
+        int field = (int) (key >>> 3);
+        if (field <= 0) {
+            throw new MalformedEventException("Invalid field number " + field + " at byte " + position);
+        }
+        return field;
+    }
+
+    public String string() {
+        expect(FieldType.STRING);
+        int length = length();
+        String value = new String(message, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public long int64() {
+        expect(FieldType.INT64);
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public double float64() {
+        expect(FieldType.DOUBLE);
+        require(Long.BYTES);
+        long bits = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            bits |= (message[position++] & 0xFFL) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public void skip() {
+        switch (wireType) {
+            case 0 -> readVarint();
+            case 1 -> {
+                require(Long.BYTES);
+                position += Long.BYTES;
+            }
+            case 2 -> {
+                int length = length();
+                position += length;
+            }
+            default -> throw new MalformedEventException("Unknown wire type " + wireType + " at byte " + position);
+        }
+    }
+
+    private void expect(FieldType type) {
+        if (wireType != type.getWireType()) {
+            throw new MalformedEventException("Expected " + type + " but found wire type " + wireType
+                    + " at byte " + position);
+        }
+    }
+
+    private int length() {
+        long length = readVarint();
+        if (length > message.length - position) {
+            throw new MalformedEventException("Field of " + length + " bytes overruns the message at byte " + position);
+        }
+        return (int) length;
+    }
+
+    private void require(int bytes) {
+        if (message.length - position < bytes) {
+            throw new MalformedEventException("Message ends inside a field at byte " + position);
+        }
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = message[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new MalformedEventException("Varint longer than 10 bytes at byte " + position);
+    }
+}
@@ -0,0 +1,85 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.schema.FieldType;
+import org.buildcode.events.schema.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes one binary event: a magic byte, the schema id and version, then each field that has a value as a key
+ * ({@code number << 3 | wire type}) followed by its value. Absent fields take no space at all.
+ */
+public final class EventWriter {
+
+    private byte[] buffer = new byte[128];
+
+    private int size;
+
+    public EventWriter(Schema schema) {
+        writeByte(EventReader.MAGIC);
+        writeVarint(schema.getId());
+        writeVarint(schema.getVersion());
+    }
+
+    public EventWriter string(int field, String value) {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeKey(field, FieldType.STRING);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+        return this;
+    }
+
+    public EventWriter int64(int field, Long value) {
+        if (value != null) {
+            writeKey(field, FieldType.INT64);
+            // Zigzag keeps small negative numbers short
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+        return this;
+    }
+
+    public EventWriter float64(int field, Double value) {
+        if (value != null) {
+            writeKey(field, FieldType.DOUBLE);
+            long bits = Double.doubleToLongBits(value);
+            ensureCapacity(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[size++] = (byte) (bits >>> (8 * i));
+            }
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void writeKey(int field, FieldType type) {
+        writeVarint(((long) field << 3) | type.getWireType());
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[size++] = value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
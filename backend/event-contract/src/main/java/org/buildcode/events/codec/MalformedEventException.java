@@ -0,0 +1,9 @@
+package org.buildcode.events.codec;
+
+// A message that is not a binary event of the expected schema, or is cut short
+public class MalformedEventException extends IllegalArgumentException {
+
+    public MalformedEventException(String message) {
+        super(message);
+    }
+}
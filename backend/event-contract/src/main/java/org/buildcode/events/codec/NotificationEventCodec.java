@@ -0,0 +1,85 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.NotificationEvent;
+import org.buildcode.events.schema.Schema;
+import org.buildcode.events.schema.SchemaField;
+
+import static org.buildcode.events.schema.FieldType.INT64;
+import static org.buildcode.events.schema.FieldType.STRING;
+
+public final class NotificationEventCodec implements EventCodec<NotificationEvent> {
+
+    private static final int RIDER_ID = 1;
+    private static final int OWNER_ID = 2;
+    private static final int SOURCE = 3;
+    private static final int DESTINATION = 4;
+    private static final int FARE = 5;
+    private static final int VEHICLE_NUMBER = 6;
+    private static final int RIDER_STATUS = 7;
+    private static final int RIDE_ID = 8;
+    private static final int SAVED_SEARCH_ID = 9;
+    private static final int DEPARTURE_DATE = 10;
+    private static final int DEPARTURE_TIME = 11;
+
+    public static final Schema SCHEMA = Schema.builder()
+            .subject("notification")
+            .id(3)
+            .version(1)
+            .field(SchemaField.of(RIDER_ID, "riderId", STRING))
+            .field(SchemaField.of(OWNER_ID, "ownerId", STRING))
+            .field(SchemaField.of(SOURCE, "source", STRING))
+            .field(SchemaField.of(DESTINATION, "destination", STRING))
+            .field(SchemaField.of(FARE, "fare", INT64))
+            .field(SchemaField.of(VEHICLE_NUMBER, "vehicleNumber", STRING))
+            .field(SchemaField.of(RIDER_STATUS, "riderStatus", STRING))
+            .field(SchemaField.of(RIDE_ID, "rideId", STRING))
+            .field(SchemaField.of(SAVED_SEARCH_ID, "savedSearchId", STRING))
+            .field(SchemaField.of(DEPARTURE_DATE, "departureDate", STRING))
+            .field(SchemaField.of(DEPARTURE_TIME, "departureTime", STRING))
+            .build();
+
+    @Override
+    public Schema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public byte[] encode(NotificationEvent event) {
+        return new EventWriter(SCHEMA)
+                .string(RIDER_ID, event.getRiderId())
+                .string(OWNER_ID, event.getOwnerId())
+                .string(SOURCE, event.getSource())
+                .string(DESTINATION, event.getDestination())
+                .int64(FARE, event.getFare())
+                .string(VEHICLE_NUMBER, event.getVehicleNumber())
+                .string(RIDER_STATUS, event.getRiderStatus())
+                .string(RIDE_ID, event.getRideId())
+                .string(SAVED_SEARCH_ID, event.getSavedSearchId())
+                .string(DEPARTURE_DATE, event.getDepartureDate())
+                .string(DEPARTURE_TIME, event.getDepartureTime())
+                .toByteArray();
+    }
+
+    @Override
+    public NotificationEvent decode(byte[] message) {
+        EventReader reader = open(message);
+        NotificationEvent.NotificationEventBuilder event = NotificationEvent.builder();
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            switch (field) {
+                case RIDER_ID -> event.riderId(reader.string());
+                case OWNER_ID -> event.ownerId(reader.string());
+                case SOURCE -> event.source(reader.string());
+                case DESTINATION -> event.destination(reader.string());
+                case FARE -> event.fare(reader.int64());
+                case VEHICLE_NUMBER -> event.vehicleNumber(reader.string());
+                case RIDER_STATUS -> event.riderStatus(reader.string());
+                case RIDE_ID -> event.rideId(reader.string());
+                case SAVED_SEARCH_ID -> event.savedSearchId(reader.string());
+                case DEPARTURE_DATE -> event.departureDate(reader.string());
+                case DEPARTURE_TIME -> event.departureTime(reader.string());
+                default -> reader.skip();
+            }
+        }
+        return event.build();
+    }
+}
@@ -0,0 +1,110 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.schema.Schema;
+import org.buildcode.events.schema.SchemaField;
+
+import static org.buildcode.events.schema.FieldType.DOUBLE;
+import static org.buildcode.events.schema.FieldType.INT64;
+import static org.buildcode.events.schema.FieldType.STRING;
+
+public final class RideCreatedEventCodec implements EventCodec<RideCreatedEvent> {
+
+    private static final int ID = 1;
+    private static final int OWNER_ID = 2;
+    private static final int SOURCE = 3;
+    private static final int DESTINATION = 4;
+    private static final int SEATS = 5;
+    private static final int FARE = 6;
+    private static final int VEHICLE_NUMBER = 7;
+    private static final int STATUS = 8;
+    private static final int DEPARTURE_DATE = 9;
+    private static final int DEPARTURE_TIME = 10;
+    private static final int SOURCE_LATITUDE = 11;
+    private static final int SOURCE_LONGITUDE = 12;
+    private static final int DESTINATION_LATITUDE = 13;
+    private static final int DESTINATION_LONGITUDE = 14;
+    private static final int ROUTE = 15;
+    private static final int CREATED_AT = 16;
+    private static final int UPDATED_AT = 17;
+
+    public static final Schema SCHEMA = Schema.builder()
+            .subject("ride-created")
+            .id(1)
+            .version(1)
+            .field(SchemaField.of(ID, "id", STRING))
+            .field(SchemaField.of(OWNER_ID, "ownerId", STRING))
+            .field(SchemaField.of(SOURCE, "source", STRING))
+            .field(SchemaField.of(DESTINATION, "destination", STRING))
+            .field(SchemaField.of(SEATS, "seats", INT64))
+            .field(SchemaField.of(FARE, "fare", INT64))
+            .field(SchemaField.of(VEHICLE_NUMBER, "vehicleNumber", STRING))
+            .field(SchemaField.of(STATUS, "status", STRING))
+            .field(SchemaField.of(DEPARTURE_DATE, "departureDate", STRING))
+            .field(SchemaField.of(DEPARTURE_TIME, "departureTime", STRING))
+            .field(SchemaField.of(SOURCE_LATITUDE, "sourceLatitude", DOUBLE))
+            .field(SchemaField.of(SOURCE_LONGITUDE, "sourceLongitude", DOUBLE))
+            .field(SchemaField.of(DESTINATION_LATITUDE, "destinationLatitude", DOUBLE))
+            .field(SchemaField.of(DESTINATION_LONGITUDE, "destinationLongitude", DOUBLE))
+            .field(SchemaField.of(ROUTE, "route", STRING))
+            .field(SchemaField.of(CREATED_AT, "createdAt", INT64))
+            .field(SchemaField.of(UPDATED_AT, "updatedAt", INT64))
+            .build();
+
+    @Override
+    public Schema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public byte[] encode(RideCreatedEvent event) {
+        return new EventWriter(SCHEMA)
+                .string(ID, event.getId())
+                .string(OWNER_ID, event.getOwnerId())
+                .string(SOURCE, event.getSource())
+                .string(DESTINATION, event.getDestination())
+                .int64(SEATS, event.getSeats())
+                .int64(FARE, event.getFare())
+                .string(VEHICLE_NUMBER, event.getVehicleNumber())
+                .string(STATUS, event.getStatus())
+                .string(DEPARTURE_DATE, event.getDepartureDate())
+                .string(DEPARTURE_TIME, event.getDepartureTime())
+                .float64(SOURCE_LATITUDE, event.getSourceLatitude())
+                .float64(SOURCE_LONGITUDE, event.getSourceLongitude())
+                .float64(DESTINATION_LATITUDE, event.getDestinationLatitude())
+                .float64(DESTINATION_LONGITUDE, event.getDestinationLongitude())
+                .string(ROUTE, event.getRoute())
+                .int64(CREATED_AT, event.getCreatedAt())
+                .int64(UPDATED_AT, event.getUpdatedAt())
+                .toByteArray();
+    }
+
+    @Override
+    public RideCreatedEvent decode(byte[] message) {
+        EventReader reader = open(message);
+        RideCreatedEvent.RideCreatedEventBuilder event = RideCreatedEvent.builder();
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            switch (field) {
+                case ID -> event.id(reader.string());
+                case OWNER_ID -> event.ownerId(reader.string());
+                case SOURCE -> event.source(reader.string());
+                case DESTINATION -> event.destination(reader.string());
+                case SEATS -> event.seats(reader.int64());
+                case FARE -> event.fare(reader.int64());
+                case VEHICLE_NUMBER -> event.vehicleNumber(reader.string());
+                case STATUS -> event.status(reader.string());
+                case DEPARTURE_DATE -> event.departureDate(reader.string());
+                case DEPARTURE_TIME -> event.departureTime(reader.string());
+                case SOURCE_LATITUDE -> event.sourceLatitude(reader.float64());
+                case SOURCE_LONGITUDE -> event.sourceLongitude(reader.float64());
+                case DESTINATION_LATITUDE -> event.destinationLatitude(reader.float64());
+                case DESTINATION_LONGITUDE -> event.destinationLongitude(reader.float64());
+                case ROUTE -> event.route(reader.string());
+                case CREATED_AT -> event.createdAt(reader.int64());
+                case UPDATED_AT -> event.updatedAt(reader.int64());
+                default -> reader.skip();
+            }
+        }
+        return event.build();
+    }
+}
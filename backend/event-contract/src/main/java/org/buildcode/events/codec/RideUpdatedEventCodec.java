@@ -0,0 +1,89 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.schema.Schema;
+import org.buildcode.events.schema.SchemaField;
+
+import static org.buildcode.events.schema.FieldType.INT64;
+import static org.buildcode.events.schema.FieldType.STRING;
+
+public final class RideUpdatedEventCodec implements EventCodec<RideUpdatedEvent> {
+
+    private static final int RIDE_ID = 1;
+    private static final int OWNER_ID = 2;
+    private static final int SEATS = 3;
+    private static final int STATUS = 4;
+    private static final int UPDATED_AT = 5;
+    private static final int VERSION = 6;
+    private static final int SOURCE = 7;
+    private static final int DESTINATION = 8;
+    private static final int FARE = 9;
+    private static final int VEHICLE_NUMBER = 10;
+    private static final int DEPARTURE_DATE = 11;
+    private static final int DEPARTURE_TIME = 12;
+
+    public static final Schema SCHEMA = Schema.builder()
+            .subject("ride-updated")
+            .id(2)
+            .version(1)
+            .field(SchemaField.of(RIDE_ID, "rideId", STRING))
+            .field(SchemaField.of(OWNER_ID, "ownerId", STRING))
+            .field(SchemaField.of(SEATS, "seats", INT64))
+            .field(SchemaField.of(STATUS, "status", STRING))
+            .field(SchemaField.of(UPDATED_AT, "updatedAt", INT64))
+            .field(SchemaField.of(VERSION, "version", INT64))
+            .field(SchemaField.of(SOURCE, "source", STRING))
+            .field(SchemaField.of(DESTINATION, "destination", STRING))
+            .field(SchemaField.of(FARE, "fare", INT64))
+            .field(SchemaField.of(VEHICLE_NUMBER, "vehicleNumber", STRING))
+            .field(SchemaField.of(DEPARTURE_DATE, "departureDate", STRING))
+            .field(SchemaField.of(DEPARTURE_TIME, "departureTime", STRING))
+            .build();
+
+    @Override
+    public Schema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public byte[] encode(RideUpdatedEvent event) {
+        return new EventWriter(SCHEMA)
+                .string(RIDE_ID, event.getRideId())
+                .string(OWNER_ID, event.getOwnerId())
+                .int64(SEATS, event.getSeats())
+                .string(STATUS, event.getStatus())
+                .int64(UPDATED_AT, event.getUpdatedAt())
+                .int64(VERSION, event.getVersion())
+                .string(SOURCE, event.getSource())
+                .string(DESTINATION, event.getDestination())
+                .int64(FARE, event.getFare())
+                .string(VEHICLE_NUMBER, event.getVehicleNumber())
+                .string(DEPARTURE_DATE, event.getDepartureDate())
+                .string(DEPARTURE_TIME, event.getDepartureTime())
+                .toByteArray();
+    }
+
+    @Override
+    public RideUpdatedEvent decode(byte[] message) {
+        EventReader reader = open(message);
+        RideUpdatedEvent.RideUpdatedEventBuilder event = RideUpdatedEvent.builder();
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            switch (field) {
+                case RIDE_ID -> event.rideId(reader.string());
+                case OWNER_ID -> event.ownerId(reader.string());
+                case SEATS -> event.seats(reader.int64());
+                case STATUS -> event.status(reader.string());
+                case UPDATED_AT -> event.updatedAt(reader.int64());
+                case VERSION -> event.version(reader.int64());
+                case SOURCE -> event.source(reader.string());
+                case DESTINATION -> event.destination(reader.string());
+                case FARE -> event.fare(reader.int64());
+                case VEHICLE_NUMBER -> event.vehicleNumber(reader.string());
+                case DEPARTURE_DATE -> event.departureDate(reader.string());
+                case DEPARTURE_TIME -> event.departureTime(reader.string());
+                default -> reader.skip();
+            }
+        }
+        return event.build();
+    }
+}
@@ -0,0 +1,27 @@
+package org.buildcode.events.schema;
+
+/**
+ * Types an event field can have, with the wire type that encodes them. The wire type is written with every
+ * field so that readers can skip fields they do not know.
+ */
+public enum FieldType {
+
+    // Unsigned LEB128 of the zigzag-encoded value
+    INT64(0),
+
+    // Eight bytes, little-endian IEEE 754
+    DOUBLE(1),
+
+    // Length-prefixed UTF-8
+    STRING(2);
+
+    private final int wireType;
+
+    FieldType(int wireType) {
+        this.wireType = wireType;
+    }
+
+    public int getWireType() {
+        return wireType;
+    }
+}
@@ -0,0 +1,136 @@
+package org.buildcode.events.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for a schema registry: every registered schema version is a text file
+ * {@code <root>/<subject>/v<version>.schema} checked into the repository, one declaration per line:
+ * <pre>
+ * subject ride-updated
+ * id 2
+ * version 1
+ * field 1 rideId STRING
+ * reserved 13
+ * </pre>
+ * Registered versions are never rewritten. A new version is only accepted if it follows the
+ * {@link SchemaCompatibility evolution rules} from the latest registered one.
+ */
+public class FileSchemaRegistry {
+
+    private static final Pattern VERSION_FILE = Pattern.compile("v(\\d+)\\.schema");
+
+    private final Path root;
+
+    public FileSchemaRegistry(Path root) {
+        this.root = root;
+    }
+
+    public Optional<Schema> get(String subject, int version) {
+        Path file = root.resolve(subject).resolve("v" + version + ".schema");
+        return Files.exists(file) ? Optional.of(read(file)) : Optional.empty();
+    }
+
+    public Optional<Schema> latest(String subject) {
+        Path directory = root.resolve(subject);
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> VERSION_FILE.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    .max(Comparator.naturalOrder())
+                    .flatMap(version -> get(subject, version));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Registers a schema version, returning false if that exact version is already registered. Fails if the
+     * version is registered with different fields, or if it breaks the evolution rules from the latest version.
+     */
+    public boolean register(Schema schema) {
+        schema.validate();
+        Optional<Schema> registered = get(schema.getSubject(), schema.getVersion());
+        if (registered.isPresent()) {
+            if (!registered.get().sameShape(schema)) {
+                throw new SchemaException("Version " + schema.getVersion() + " of " + schema.getSubject()
+                        + " is already registered with different fields; changes need a new version");
+            }
+            return false;
+        }
+        Optional<Schema> latest = latest(schema.getSubject());
+        latest.ifPresent(previous -> SchemaCompatibility.check(previous, schema));
+        write(schema);
+        return true;
+    }
+
+    // Fails unless the schema is registered exactly as given
+    public void verify(Schema schema) {
+        Schema registered = get(schema.getSubject(), schema.getVersion()).orElseThrow(() -> new SchemaException(
+                "Version " + schema.getVersion() + " of " + schema.getSubject() + " is not registered"));
+        if (!registered.sameShape(schema)) {
+            throw new SchemaException("Version " + schema.getVersion() + " of " + schema.getSubject()
+                    + " differs from the registered one");
+        }
+    }
+
+    private void write(Schema schema) {
+        List<String> lines = new ArrayList<>();
+        lines.add("subject " + schema.getSubject());
+        lines.add("id " + schema.getId());
+        lines.add("version " + schema.getVersion());
+        schema.getFields().stream()
+                .sorted(Comparator.comparingInt(SchemaField::getNumber))
+                .forEach(field -> lines.add("field " + field.getNumber() + " " + field.getName() + " " + field.getType()));
+        schema.getReserved().stream().sorted().forEach(number -> lines.add("reserved " + number));
+        try {
+            Path directory = Files.createDirectories(root.resolve(schema.getSubject()));
+            Files.write(directory.resolve("v" + schema.getVersion() + ".schema"), lines, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Schema read(Path file) {
+        Schema.SchemaBuilder schema = Schema.builder();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts[0].isEmpty() || parts[0].startsWith("#")) {
+                continue;
+            }
+            try {
+                switch (parts[0]) {
+                    case "subject" -> schema.subject(parts[1]);
+                    case "id" -> schema.id(Integer.parseInt(parts[1]));
+                    case "version" -> schema.version(Integer.parseInt(parts[1]));
+                    case "field" -> schema.field(SchemaField.of(Integer.parseInt(parts[1]), parts[2],
+                            FieldType.valueOf(parts[3])));
+                    case "reserved" -> schema.reserved(Integer.parseInt(parts[1]));
+                    default -> throw new SchemaException("Unknown declaration in " + file + ": " + line);
+                }
+            } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+                throw new SchemaException("Invalid line in " + file + ": " + line, ex);
+            }
+        }
+        return schema.build();
+    }
+}
@@ -0,0 +1,22 @@
+package org.buildcode.events.schema;
+
+import org.buildcode.events.codec.EventCodec;
+import org.buildcode.events.codec.EventCodecs;
+
+import java.nio.file.Path;
+
+// Registers the schemas of all codecs in the directory given as argument; run with `gradle registerSchemas`
+public final class RegisterSchemas {
+
+    private RegisterSchemas() {
+    }
+
+    public static void main(String[] args) {
+        FileSchemaRegistry registry = new FileSchemaRegistry(Path.of(args[0]));
+        for (EventCodec<?> codec : EventCodecs.ALL) {
+            Schema schema = codec.schema();
+            boolean added = registry.register(schema);
+            System.out.println((added ? "Registered " : "Unchanged  ") + schema.getSubject() + " v" + schema.getVersion());
+        }
+    }
+}
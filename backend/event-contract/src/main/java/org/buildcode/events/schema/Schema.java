@@ -0,0 +1,63 @@
+package org.buildcode.events.schema;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Versioned description of one event: its subject (the registry name), the schema id written in every message
+ * and its numbered fields. Numbers of removed fields are kept as reserved so they are never reused.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Schema {
+
+    String subject;
+
+    int id;
+
+    int version;
+
+    @Singular
+    List<SchemaField> fields;
+
+    @Singular("reserved")
+    Set<Integer> reserved;
+
+    public Optional<SchemaField> field(int number) {
+        return fields.stream().filter(field -> field.getNumber() == number).findFirst();
+    }
+
+    // Same fields and reserved numbers, whatever the version
+    public boolean sameShape(Schema other) {
+        return subject.equals(other.subject) && id == other.id
+                && new HashSet<>(fields).equals(new HashSet<>(other.fields)) && reserved.equals(other.reserved);
+    }
+
+    public void validate() {
+        if (subject == null || !subject.matches("[a-z][a-z0-9-]*")) {
+            throw new SchemaException("Schema subject must be lower-case words separated by dashes: " + subject);
+        }
+        if (id <= 0 || version <= 0) {
+            throw new SchemaException("Schema id and version of " + subject + " must be positive");
+        }
+        Set<Integer> numbers = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (SchemaField field : fields) {
+            if (field.getNumber() <= 0) {
+                throw new SchemaException("Field numbers of " + subject + " must be positive: " + field);
+            }
+            if (!numbers.add(field.getNumber()) || !names.add(field.getName())) {
+                throw new SchemaException("Field number and name must be unique in " + subject + ": " + field);
+            }
+            if (reserved.contains(field.getNumber())) {
+                throw new SchemaException("Field " + field + " of " + subject + " uses a reserved number");
+            }
+        }
+    }
+}
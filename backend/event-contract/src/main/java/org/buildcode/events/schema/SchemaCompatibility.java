@@ -0,0 +1,48 @@
+package org.buildcode.events.schema;
+
+/**
+ * Evolution rules between consecutive versions of an event schema. Readers skip fields they do not know and
+ * treat missing fields as absent, so these rules are what keeps old readers working on new messages and new
+ * readers working on old ones:
+ * <ul>
+ *     <li>a field keeps its number, name and type for as long as it exists;</li>
+ *     <li>a removed field's number becomes reserved and is never used again;</li>
+ *     <li>new fields take new numbers and are optional, every reader must cope with their absence;</li>
+ *     <li>the schema id never changes, and every change is a new, higher version.</li>
+ * </ul>
+ */
+public final class SchemaCompatibility {
+
+    private SchemaCompatibility() {
+    }
+
+    public static void check(Schema previous, Schema next) {
+        next.validate();
+        if (!previous.getSubject().equals(next.getSubject()) || previous.getId() != next.getId()) {
+            throw new SchemaException("Schema " + next.getSubject() + " must keep the subject and id of "
+                    + previous.getSubject() + " (" + previous.getId() + ")");
+        }
+        if (next.getVersion() <= previous.getVersion()) {
+            throw new SchemaException("Version " + next.getVersion() + " of " + next.getSubject()
+                    + " must be higher than " + previous.getVersion());
+        }
+        for (SchemaField field : previous.getFields()) {
+            SchemaField kept = next.field(field.getNumber()).orElse(null);
+            if (kept == null) {
+                if (!next.getReserved().contains(field.getNumber())) {
+                    throw new SchemaException("Removed field " + field + " of " + next.getSubject()
+                            + " must be reserved");
+                }
+            } else if (!kept.equals(field)) {
+                throw new SchemaException("Field " + field.getNumber() + " of " + next.getSubject()
+                        + " changed from " + field + " to " + kept);
+            }
+        }
+        for (Integer number : previous.getReserved()) {
+            if (!next.getReserved().contains(number)) {
+                throw new SchemaException("Reserved field number " + number + " of " + next.getSubject()
+                        + " must stay reserved");
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.buildcode.events.schema;
+
+// A schema that is invalid, incompatible with its previous version or different from the registered one
+public class SchemaException extends RuntimeException {
+
+    public SchemaException(String message) {
+        super(message);
+    }
+
+    public SchemaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
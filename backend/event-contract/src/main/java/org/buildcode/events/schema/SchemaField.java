@@ -0,0 +1,13 @@
+package org.buildcode.events.schema;
+
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class SchemaField {
+
+    int number;
+
+    String name;
+
+    FieldType type;
+}
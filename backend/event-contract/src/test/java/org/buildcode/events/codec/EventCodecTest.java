@@ -0,0 +1,108 @@
+package org.buildcode.events.codec;
+
+import org.buildcode.events.NotificationEvent;
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.schema.Schema;
+import org.buildcode.events.schema.SchemaField;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.buildcode.events.schema.FieldType.DOUBLE;
+import static org.buildcode.events.schema.FieldType.INT64;
+import static org.buildcode.events.schema.FieldType.STRING;
+
+class EventCodecTest {
+
+    private static final RideCreatedEvent CREATED = RideCreatedEvent.builder()
+            .id("ride-1")
+            .ownerId("owner-1")
+            .source("Koramangala")
+            .destination("Whitefield")
+            .seats(3L)
+            .fare(250L)
+            .vehicleNumber("KA01AB1234")
+            .status("CREATED")
+            .departureDate("2024-11-16")
+            .departureTime("08:30")
+            .sourceLatitude(12.9352)
+            .sourceLongitude(77.6245)
+            .destinationLatitude(12.9698)
+            .destinationLongitude(77.7500)
+            .route("[[12.9352,77.6245],[12.9698,77.75]]")
+            .createdAt(1_731_745_800_000L)
+            .updatedAt(1_731_745_800_000L)
+            .build();
+
+    @Test
+    void roundTripsEveryEventAndLeavesAbsentFieldsNull() {
+        assertThat(EventCodecs.RIDE_CREATED.decode(EventCodecs.RIDE_CREATED.encode(CREATED))).isEqualTo(CREATED);
+
+        RideUpdatedEvent update = RideUpdatedEvent.builder().rideId("ride-1").seats(-1L).status("ONGOING")
+                .updatedAt(1_731_745_900L).version(1_731_745_900L).build();
+        RideUpdatedEvent decoded = EventCodecs.RIDE_UPDATED.decode(EventCodecs.RIDE_UPDATED.encode(update));
+        assertThat(decoded).isEqualTo(update);
+        assertThat(decoded.getSource()).isNull();
+
+        NotificationEvent notification = NotificationEvent.builder().riderId("rider-1").ownerId("owner-1")
+                .fare(250L).riderStatus("SAVED_SEARCH_MATCHED").savedSearchId("search-1").build();
+        assertThat(EventCodecs.NOTIFICATION.decode(EventCodecs.NOTIFICATION.encode(notification)))
+                .isEqualTo(notification);
+    }
+
+    @Test
+    void writesEveryFieldWithTheNumberAndTypeOfTheSchema() {
+        byte[] message = EventCodecs.RIDE_CREATED.encode(CREATED);
+        EventReader reader = new EventReader(message);
+        Schema schema = EventCodecs.RIDE_CREATED.schema();
+        int fields = 0;
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            SchemaField declared = schema.field(field).orElseThrow();
+            switch (declared.getType()) {
+                case STRING -> reader.string();
+                case INT64 -> reader.int64();
+                case DOUBLE -> reader.float64();
+            }
+            fields++;
+        }
+        assertThat(fields).isEqualTo(schema.getFields().size());
+        assertThat(message.length).isLessThan(CREATED.toString().getBytes(StandardCharsets.UTF_8).length / 2);
+    }
+
+    @Test
+    void skipsFieldsAddedByNewerVersions() {
+        Schema newer = EventCodecs.RIDE_UPDATED.schema().toBuilder()
+                .version(2)
+                .field(SchemaField.of(13, "note", STRING))
+                .field(SchemaField.of(14, "distance", DOUBLE))
+                .field(SchemaField.of(15, "delay", INT64))
+                .build();
+        byte[] message = new EventWriter(newer)
+                .string(1, "ride-1")
+                .string(13, "running late")
+                .float64(14, 12.5)
+                .int64(15, 600L)
+                .int64(3, 2L)
+                .toByteArray();
+
+        RideUpdatedEvent decoded = EventCodecs.RIDE_UPDATED.decode(message);
+        assertThat(decoded).isEqualTo(RideUpdatedEvent.builder().rideId("ride-1").seats(2L).build());
+    }
+
+    @Test
+    void rejectsJsonTruncatedAndForeignMessages() {
+        assertThat(EventReader.isBinary("{\"rideId\":\"ride-1\"}".getBytes(StandardCharsets.UTF_8))).isFalse();
+
+        byte[] message = EventCodecs.RIDE_CREATED.encode(CREATED);
+        byte[] truncated = Arrays.copyOf(message, message.length - 3);
+        assertThatThrownBy(() -> EventCodecs.RIDE_CREATED.decode(truncated))
+                .isInstanceOf(MalformedEventException.class);
+        assertThatThrownBy(() -> EventCodecs.RIDE_UPDATED.decode(message))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessageContaining("ride-updated");
+    }
+}
@@ -0,0 +1,59 @@
+package org.buildcode.events.schema;
+
+import org.buildcode.events.codec.EventCodec;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.events.codec.RideUpdatedEventCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSchemaRegistryTest {
+
+    @TempDir
+    Path root;
+
+    // The codecs must match what is checked in; run `gradle registerSchemas` after a compatible change
+    @Test
+    void codecSchemasAreRegistered() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(Path.of(System.getProperty("events.schema-registry")));
+        for (EventCodec<?> codec : EventCodecs.ALL) {
+            registry.verify(codec.schema());
+        }
+    }
+
+    @Test
+    void registersCompatibleVersionsOnly() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(root);
+        Schema v1 = RideUpdatedEventCodec.SCHEMA;
+        assertThat(registry.register(v1)).isTrue();
+        assertThat(registry.register(v1)).isFalse();
+        assertThat(registry.get("ride-updated", 1)).contains(v1);
+
+        Schema v2 = new Schema(v1.getSubject(), v1.getId(), 2,
+                v1.getFields().stream().filter(field -> field.getNumber() != 10).toList(), Set.of(10));
+        assertThat(registry.register(v2)).isTrue();
+        assertThat(registry.latest("ride-updated")).contains(v2);
+
+        Schema reused = v2.toBuilder().version(3).field(SchemaField.of(10, "plate", FieldType.STRING)).build();
+        assertThatThrownBy(() -> registry.register(reused)).isInstanceOf(SchemaException.class);
+
+        Schema retyped = new Schema(v2.getSubject(), v2.getId(), 3, v2.getFields().stream()
+                .map(field -> field.getNumber() == 3 ? SchemaField.of(3, "seats", FieldType.STRING) : field)
+                .toList(), v2.getReserved());
+        assertThatThrownBy(() -> registry.register(retyped)).isInstanceOf(SchemaException.class)
+                .hasMessageContaining("changed");
+
+        Schema dropped = new Schema(v2.getSubject(), v2.getId(), 3, v2.getFields().stream()
+                .filter(field -> field.getNumber() != 12).toList(), v2.getReserved());
+        assertThatThrownBy(() -> registry.register(dropped)).isInstanceOf(SchemaException.class)
+                .hasMessageContaining("reserved");
+
+        Schema changedInPlace = v1.toBuilder().field(SchemaField.of(13, "note", FieldType.STRING)).build();
+        assertThatThrownBy(() -> registry.register(changedInPlace)).isInstanceOf(SchemaException.class);
+    }
+}
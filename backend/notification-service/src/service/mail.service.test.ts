@@ -0,0 +1,77 @@
+import { afterEach, describe, it, mock } from "node:test";
+import assert from "node:assert/strict";
+import * as authService from "./auth.service";
+import { transporter } from "../config/mail";
+import { IUser } from "./types";
+import { INotificationEvent } from "../utils";
+import { SAVED_SEARCH_MATCHED, sendBookingMailService } from "./mail.service";
+
+const USERS: { [id: string]: string } = {
+  rider: "rider@example.com",
+  driver: "driver@example.com",
+};
+
+function message(event: INotificationEvent) {
+  return { value: Buffer.from(JSON.stringify(event)) } as any;
+}
+
+function mockUsersAndMail() {
+  const getUserDetails = mock.method(authService, "getUserDetails", async (id: string) =>
+    ({ uid: id, email: USERS[id] } as IUser)
+  );
+  const sendMail = mock.method(transporter, "sendMail", async () => ({}));
+  return { getUserDetails, sendMail };
+}
+
+describe("sendBookingMailService", () => {
+  afterEach(() => mock.restoreAll());
+
+  it("mails saved search matches to the rider who saved the search", async () => {
+    const { getUserDetails, sendMail } = mockUsersAndMail();
+
+    await sendBookingMailService(
+      message({
+        riderId: "rider",
+        ownerId: "driver",
+        source: "MG Road",
+        destination: "Airport",
+        riderStatus: SAVED_SEARCH_MATCHED,
+        rideId: "ride-1",
+        savedSearchId: "search-1",
+      })
+    );
+
+    assert.deepEqual(
+      getUserDetails.mock.calls.map((call) => call.arguments[0]),
+      ["rider"]
+    );
+    assert.equal(sendMail.mock.callCount(), 1);
+    assert.equal(sendMail.mock.calls[0].arguments[0].to, "rider@example.com");
+    assert.match(sendMail.mock.calls[0].arguments[0].subject, /MG Road to Airport/);
+  });
+
+  it("skips saved search matches without a rider", async () => {
+    const { getUserDetails, sendMail } = mockUsersAndMail();
+
+    await sendBookingMailService(
+      message({ ownerId: "driver", savedSearchId: "search-1" })
+    );
+
+    assert.equal(getUserDetails.mock.callCount(), 0);
+    assert.equal(sendMail.mock.callCount(), 0);
+  });
+
+  it("still mails booking updates to the driver", async () => {
+    const { getUserDetails, sendMail } = mockUsersAndMail();
+
+    await sendBookingMailService(
+      message({ riderId: "rider", ownerId: "driver", riderStatus: "ACCEPTED" })
+    );
+
+    assert.deepEqual(
+      getUserDetails.mock.calls.map((call) => call.arguments[0]),
+      ["driver"]
+    );
+    assert.equal(sendMail.mock.calls[0].arguments[0].to, "driver@example.com");
+  });
+});
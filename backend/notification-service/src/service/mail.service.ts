@@ -4,11 +4,25 @@ import { IBookingData, IUser } from "./types";
 import { getBookingDetails } from "./booking.service";
 import { getUserDetails } from "./auth.service";
 import { IMailOptions, sendMail } from "../config";
-import { formatShortDate } from "../utils";
+import {
+  INotificationEvent,
+  decodeNotificationEvent,
+  formatShortDate,
+} from "../utils";
+
+// riderStatus of the matches the search service publishes for saved searches
+export const SAVED_SEARCH_MATCHED = "SAVED_SEARCH_MATCHED";
+
+export function isSavedSearchMatch(payload: INotificationEvent): boolean {
+  return (
+    Boolean(payload.savedSearchId) ||
+    payload.riderStatus === SAVED_SEARCH_MATCHED
+  );
+}
 
 export async function sendBookingMailService(message: KafkaMessage) {
   logger.info("Handling booking mail event");
-  const payload = JSON.parse(message.value?.toString()!);
+  const payload = decodeNotificationEvent(message.value!);
 
   /**
     .ownerId(rideCreatedEvent.ownerId)
@@ -21,7 +35,13 @@ export async function sendBookingMailService(message: KafkaMessage) {
   logger.info("Got the payload: {}", payload);
   console.log(payload);
 
-  const userData: IUser = await getUserDetails(payload.ownerId);
+  // Matches are meant for the rider who saved the search, not for the ride's driver
+  if (isSavedSearchMatch(payload)) {
+    await sendSavedSearchMatchMail(payload);
+    return;
+  }
+
+  const userData: IUser = await getUserDetails(payload.ownerId!);
 
   const bookingUpdateMessage = `
     <div>
@@ -36,7 +56,6 @@ export async function sendBookingMailService(message: KafkaMessage) {
         <li><strong>Vehicle:</strong> ${payload.vehicleNumber}</li>
         <li><strong>Owner ID:</strong> ${payload.ownerId}</li>
         <li><strong>Rider Status:</strong> ${payload.riderStatus}</li>
-        <li><strong>Service:</strong> ${payload.service}</li>
       </ul>
       <p><em>Message:</em> Got the payload: {}</p>
       <p>If you have any questions or require further assistance, please don't hesitate to contact us.</p>
@@ -59,3 +78,45 @@ export async function sendBookingMailService(message: KafkaMessage) {
   await sendMail(mailData);
   logger.info(`Message sent successfully!`);
 }
+
+async function sendSavedSearchMatchMail(payload: INotificationEvent) {
+  if (!payload.riderId) {
+    logger.error("Skipping saved search match without a rider: ", payload);
+    return;
+  }
+
+  const userData: IUser = await getUserDetails(payload.riderId);
+
+  const savedSearchMatchMessage = `
+    <div>
+      <h1>New Ride For Your Saved Search</h1>
+      <p>Dear Valued Customer,</p>
+      <p>A ride matching one of your saved searches has just been published:</p>
+      <h3>Ride Summary:</h3>
+      <ul>
+        <li><strong>Source:</strong> ${payload.source}</li>
+        <li><strong>Destination:</strong> ${payload.destination}</li>
+        <li><strong>Departure:</strong> ${payload.departureDate ?? ""} ${payload.departureTime ?? ""}</li>
+        <li><strong>Fare:</strong> ${payload.fare}</li>
+        <li><strong>Vehicle:</strong> ${payload.vehicleNumber}</li>
+      </ul>
+      <p>Book it soon, seats go fast.</p>
+      <p>Best regards,</p>
+      <p>The Mail-Service Team</p>
+    </div>
+  `;
+
+  const mailData: IMailOptions = {
+    from: {
+      name: "CarPooling",
+      address: process.env.MAIL_USER!,
+    },
+    to: userData.email,
+    subject: `New ride from ${payload.source} to ${payload.destination}`,
+    html: savedSearchMatchMessage,
+  };
+
+  logger.info(`Sending a saved search match mail`);
+  await sendMail(mailData);
+  logger.info(`Message sent successfully!`);
+}
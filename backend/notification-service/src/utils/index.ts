@@ -1,3 +1,4 @@
 export * from "./eurekaClientUtil";
+export * from "./notificationEvent";
 export * from "./types";
 export * from "./utils";
@@ -0,0 +1,102 @@
+// Decoder for the notification event of the shared event contract (backend/event-contract,
+// schemas/notification). Field numbers must follow the registered schema; unknown fields are skipped.
+
+const MAGIC = 0xc3;
+const NOTIFICATION_SCHEMA_ID = 3;
+
+const WIRE_VARINT = 0;
+const WIRE_FIXED64 = 1;
+const WIRE_BYTES = 2;
+
+export interface INotificationEvent {
+  riderId?: string;
+  ownerId?: string;
+  source?: string;
+  destination?: string;
+  fare?: number;
+  vehicleNumber?: string;
+  riderStatus?: string;
+  rideId?: string;
+  savedSearchId?: string;
+  departureDate?: string;
+  departureTime?: string;
+}
+
+type StringField = Exclude<keyof INotificationEvent, "fare">;
+
+const STRING_FIELDS: { [field: number]: StringField } = {
+  1: "riderId",
+  2: "ownerId",
+  3: "source",
+  4: "destination",
+  6: "vehicleNumber",
+  7: "riderStatus",
+  8: "rideId",
+  9: "savedSearchId",
+  10: "departureDate",
+  11: "departureTime",
+};
+
+const FARE_FIELD = 5;
+
+// Binary events start with a magic byte; anything else is the JSON published before the contract
+export function decodeNotificationEvent(value: Buffer): INotificationEvent {
+  if (value.length === 0 || value[0] !== MAGIC) {
+    return JSON.parse(value.toString());
+  }
+
+  let position = 1;
+
+  // Numbers stay below 2^53, so plain arithmetic is used instead of 32-bit bitwise operators
+  const readVarint = (): number => {
+    let result = 0;
+    let multiplier = 1;
+    for (;;) {
+      if (position >= value.length) {
+        throw new Error(`Notification event ends inside a field at byte ${position}`);
+      }
+      const byte = value[position++];
+      result += (byte & 0x7f) * multiplier;
+      if (byte < 0x80) {
+        return result;
+      }
+      multiplier *= 128;
+    }
+  };
+
+  const schemaId = readVarint();
+  if (schemaId !== NOTIFICATION_SCHEMA_ID) {
+    throw new Error(`Expected a notification event but found schema ${schemaId}`);
+  }
+  readVarint(); // schema version, every version is read the same way
+
+  const event: INotificationEvent = {};
+  while (position < value.length) {
+    const key = readVarint();
+    const field = Math.floor(key / 8);
+    const wireType = key % 8;
+
+    if (wireType === WIRE_VARINT) {
+      const zigzag = readVarint();
+      const number = zigzag % 2 === 0 ? zigzag / 2 : -(zigzag + 1) / 2;
+      if (field === FARE_FIELD) {
+        event.fare = number;
+      }
+    } else if (wireType === WIRE_FIXED64) {
+      position += 8;
+    } else if (wireType === WIRE_BYTES) {
+      const length = readVarint();
+      if (position + length > value.length) {
+        throw new Error(`Notification event field overruns the message at byte ${position}`);
+      }
+      const name = STRING_FIELDS[field];
+      if (name) {
+        event[name] = value.toString("utf8", position, position + length);
+      }
+      position += length;
+    } else {
+      throw new Error(`Unknown wire type ${wireType} in notification event at byte ${position}`);
+    }
+  }
+  return event;
+}
@@ -0,0 +1,142 @@
+package org.buildcode.synchservice.data.mapper;
+
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.synchservice.api.constants.RideStatus;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second for {@link RideMapper#toRidePatch} on JSON events against the org.json tree mapping it
+ * replaced, and on the same events in the binary event contract, for a created event (the whole ride, with
+ * fields the mapper ignores) and an updated event (a few fields, the rest null or absent). Run with {@code gradle jmh --args='RideMapperBenchmark -prof gc'} to also get bytes allocated per
+ * message ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RideMapperBenchmark {
+
+    private static final String CREATED = "{\"id\":\"3f1c2a9e-7b4d-4e8a-9c1f-2d6b8e0a4c17\",\"source\":\"Koramangala\","
+            + "\"destination\":\"Whitefield\",\"ownerId\":\"owner-42\",\"seats\":3,\"vehicleNumber\":\"KA01AB1234\","
+            + "\"fare\":250,\"deviceToken\":\"fcm:APA91bH-example-token\",\"status\":\"ACTIVE\","
+            + "\"departureTime\":\"9:30AM\",\"departureDate\":\"16/11/24\",\"sourceLatitude\":12.9352,"
+            + "\"sourceLongitude\":77.6245,\"destinationLatitude\":12.9698,\"destinationLongitude\":77.7500,"
+            + "\"route\":\"12.9352,77.6245;12.9501,77.6803;12.9698,77.7500\","
+            + "\"createdAt\":\"2024-11-12T08:00:00Z\",\"updatedAt\":\"2024-11-12T08:00:00Z\"}";
+
+    private static final String UPDATED = "{\"rideId\":\"3f1c2a9e-7b4d-4e8a-9c1f-2d6b8e0a4c17\",\"ownerId\":\"owner-42\","
+            + "\"source\":null,\"destination\":null,\"fare\":null,\"seats\":2,\"vehicleNumber\":null,"
+            + "\"rideStatus\":\"ACTIVE\",\"updatedAt\":1731403800,\"departureTime\":null,\"departureDate\":null,"
+            + "\"version\":1731403800}";
+
+    private static final RideCreatedEvent CREATED_EVENT = RideCreatedEvent.builder()
+            .id("3f1c2a9e-7b4d-4e8a-9c1f-2d6b8e0a4c17").source("Koramangala").destination("Whitefield")
+            .ownerId("owner-42").seats(3L).vehicleNumber("KA01AB1234").fare(250L).status("ACTIVE")
+            .departureTime("9:30AM").departureDate("16/11/24").sourceLatitude(12.9352).sourceLongitude(77.6245)
+            .destinationLatitude(12.9698).destinationLongitude(77.7500)
+            .route("12.9352,77.6245;12.9501,77.6803;12.9698,77.7500")
+            .createdAt(1731398400000L).updatedAt(1731398400000L)
+            .build();
+
+    private static final RideUpdatedEvent UPDATED_EVENT = RideUpdatedEvent.builder()
+            .rideId("3f1c2a9e-7b4d-4e8a-9c1f-2d6b8e0a4c17").ownerId("owner-42").seats(2L).status("ACTIVE")
+            .updatedAt(1731403800L).version(1731403800L)
+            .build();
+
+    @Param({"created", "updated"})
+    public String event;
+
+    private byte[] payload;
+
+    private byte[] binary;
+
+    private final RideMapper rideMapper = new RideMapper();
+
+    @Setup
+    public void setUp() {
+        payload = (event.equals("created") ? CREATED : UPDATED).getBytes(StandardCharsets.UTF_8);
+        binary = event.equals("created") ? EventCodecs.RIDE_CREATED.encode(CREATED_EVENT)
+                : EventCodecs.RIDE_UPDATED.encode(UPDATED_EVENT);
+    }
+
+    @Benchmark
+    public RidePatch streaming() throws IOException {
+        return rideMapper.toRidePatch(payload);
+    }
+
+    @Benchmark
+    public RidePatch binary() throws IOException {
+        return rideMapper.toRidePatch(binary);
+    }
+
+    // Decoding the bytes is part of the cost: the listener used to be handed a String by the deserializer
+    @Benchmark
+    public RidePatch tree() {
+        return toRidePatch(new JSONObject(new String(payload, StandardCharsets.UTF_8)));
+    }
+
+    // The previous mapping: a full org.json tree, then a has/isNull/get sequence per field
+    private static RidePatch toRidePatch(JSONObject jsonPayload) {
+        String id = has(jsonPayload, "id") ? jsonPayload.getString("id")
+                : has(jsonPayload, "rideId") ? jsonPayload.getString("rideId") : null;
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (has(jsonPayload, "ownerId")) {
+            columns.put("user_id", jsonPayload.getString("ownerId"));
+        }
+        if (has(jsonPayload, "source")) {
+            columns.put("source", jsonPayload.getString("source"));
+        }
+        if (has(jsonPayload, "destination")) {
+            columns.put("destination", jsonPayload.getString("destination"));
+        }
+        if (has(jsonPayload, "fare")) {
+            columns.put("fare", BigInteger.valueOf(jsonPayload.getLong("fare")));
+        }
+        if (has(jsonPayload, "seats")) {
+            columns.put("seats", BigInteger.valueOf(jsonPayload.getInt("seats")));
+        }
+        if (has(jsonPayload, "vehicleNumber")) {
+            columns.put("vehicle_number", jsonPayload.getString("vehicleNumber"));
+        }
+        if (has(jsonPayload, "departureDate")) {
+            columns.put("departure_date", jsonPayload.getString("departureDate"));
+        }
+        if (has(jsonPayload, "departureTime")) {
+            columns.put("departure_time", jsonPayload.getString("departureTime"));
+        }
+        if (has(jsonPayload, "status")) {
+            columns.put("status", RideStatus.valueOf(jsonPayload.getString("status")).name());
+        } else if (has(jsonPayload, "rideStatus")) {
+            columns.put("status", RideStatus.valueOf(jsonPayload.getString("rideStatus")).name());
+        }
+        long version = has(jsonPayload, "version") ? jsonPayload.getLong("version") : 0L;
+        return new RidePatch(id, version, columns);
+    }
+
+    private static boolean has(JSONObject jsonPayload, String key) {
+        return jsonPayload.has(key) && !jsonPayload.isNull(key);
+    }
+}
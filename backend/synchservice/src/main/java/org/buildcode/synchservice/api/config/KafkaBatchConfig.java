@@ -0,0 +1,57 @@
+package org.buildcode.synchservice.api.config;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "sync.batch.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaBatchConfig {
+
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchKafkaListenerContainerFactory";
+
+    // Records that could not be applied go to <topic>.DLT, from where they can be inspected and replayed
+    public static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    // Long enough to ride out a database restart, short enough not to stall a partition on a poison batch
+    private static final Duration MAX_RETRY_TIME = Duration.ofMinutes(15);
+
+    // Offsets are committed once per poll, after the listener returned; a failed batch is redelivered as a whole
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            KafkaTemplate<Object, Object> kafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2);
+        backOff.setMaxInterval(60_000);
+        backOff.setMaxElapsedTime(MAX_RETRY_TIME.toMillis());
+        // Partition -1 lets the producer pick one, the dead letter topic need not have as many as the source
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        // Unreadable events and rows the database rejects fail the same way every time, so they are not retried;
+        // the listener names the failing record, so only that one is dead lettered
+        errorHandler.addNotRetryableExceptions(IOException.class, IllegalArgumentException.class,
+                DataIntegrityViolationException.class);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+}
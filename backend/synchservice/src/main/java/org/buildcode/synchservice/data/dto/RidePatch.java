@@ -0,0 +1,27 @@
+package org.buildcode.synchservice.data.dto;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Columns of the rides table set by one ride event, by column name. Fields the event did not carry are
+ * absent and must be left as they are, so an event only ever writes the columns it knows about.
+ */
+@Value
+public class RidePatch {
+
+    String id;
+
+    long version;
+
+    Map<String, Object> columns;
+
+    public RidePatch(String id, long version, Map<String, Object> columns) {
+        this.id = id;
+        this.version = version;
+        this.columns = Collections.unmodifiableMap(new LinkedHashMap<>(columns));
+    }
+}
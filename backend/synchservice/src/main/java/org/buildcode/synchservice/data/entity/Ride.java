@@ -38,12 +38,21 @@ public class Ride {
     @Column(nullable = true)
     private BigInteger fare; // Fare for the ride
 
+    @Column(nullable = true)
+    private String departureDate; // Departure date as published, e.g. 23/10/25
+
+    @Column(nullable = true)
+    private String departureTime; // Departure time as published, e.g. 9:53AM
+
     @Column(nullable = true, updatable = false)
     private Instant createdAt; // Timestamp for creation
 
     @Column(nullable = true)
     private Instant updatedAt; // Timestamp for last update
 
+    @Column(nullable = true)
+    private Long version; // Version of the last event applied, events with a lower version are ignored
+
     @PrePersist
     public void onCreate() {
         this.createdAt = Instant.now();
@@ -1,60 +1,146 @@
 package org.buildcode.synchservice.data.mapper;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.events.codec.EventReader;
+import org.buildcode.events.codec.MalformedEventException;
 import org.buildcode.synchservice.api.constants.RideStatus;
-import org.buildcode.synchservice.data.entity.Ride;
-import org.json.JSONObject;
+import org.buildcode.synchservice.data.dto.RidePatch;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.math.BigInteger;
-import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class RideMapper {
 
-    public Ride toRideUpdateKafkaPayload(JSONObject jsonPayload) {
-        Ride newRide = new Ride();
+    // Thread-safe and expensive to create; parsers are cheap and made per message
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
-        System.out.println("jsonPayload");
-        System.out.println(jsonPayload);
-
-        if (jsonPayload.has("id") && !jsonPayload.isNull("id")) {
-            newRide.setId(jsonPayload.getString("id"));
+    /**
+     * Maps a ride event to the columns it sets. Events are binary ride-created or ride-updated events of the
+     * shared event contract; JSON events from producers that predate it are still read, see below.
+     */
+    public RidePatch toRidePatch(byte[] message) throws IOException {
+        if (!EventReader.isBinary(message)) {
+            return toRidePatchFromJson(message);
         }
-
-        if (jsonPayload.has("ownerId") && !jsonPayload.isNull("ownerId")) {
-            newRide.setUserId(jsonPayload.getString("ownerId"));
+        int schemaId = new EventReader(message).schemaId();
+        if (schemaId == EventCodecs.RIDE_CREATED.schema().getId()) {
+            return toRidePatch(EventCodecs.RIDE_CREATED.decode(message));
         }
-
-        if (jsonPayload.has("source") && !jsonPayload.isNull("source")) {
-            newRide.setSource(jsonPayload.getString("source"));
+        if (schemaId == EventCodecs.RIDE_UPDATED.schema().getId()) {
+            return toRidePatch(EventCodecs.RIDE_UPDATED.decode(message));
         }
+        throw new MalformedEventException("Not a ride event: schema " + schemaId);
+    }
 
-        if (jsonPayload.has("destination") && !jsonPayload.isNull("destination")) {
-            newRide.setDestination(jsonPayload.getString("destination"));
-        }
+    private RidePatch toRidePatch(RideCreatedEvent event) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putRideColumns(columns, event.getOwnerId(), event.getSource(), event.getDestination(), event.getFare(),
+                event.getSeats(), event.getVehicleNumber(), event.getDepartureDate(), event.getDepartureTime(),
+                event.getStatus());
+        return new RidePatch(event.getId(), 0L, columns);
+    }
 
-        if (jsonPayload.has("fare") && !jsonPayload.isNull("fare")) {
-            newRide.setFare(BigInteger.valueOf(jsonPayload.getLong("fare")));
-        }
+    private RidePatch toRidePatch(RideUpdatedEvent event) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putRideColumns(columns, event.getOwnerId(), event.getSource(), event.getDestination(), event.getFare(),
+                event.getSeats(), event.getVehicleNumber(), event.getDepartureDate(), event.getDepartureTime(),
+                event.getStatus());
+        return new RidePatch(event.getRideId(), event.getVersion() == null ? 0L : event.getVersion(), columns);
+    }
 
-        if (jsonPayload.has("seats") && !jsonPayload.isNull("seats")) {
-            newRide.setSeats(BigInteger.valueOf(jsonPayload.getInt("seats")));
-        }
+    // Absent fields are left out, like null ones in JSON events
+    private static void putRideColumns(Map<String, Object> columns, String ownerId, String source, String destination,
+                                       Long fare, Long seats, String vehicleNumber, String departureDate,
+                                       String departureTime, String status) {
+        putIfPresent(columns, "user_id", ownerId);
+        putIfPresent(columns, "source", source);
+        putIfPresent(columns, "destination", destination);
+        putIfPresent(columns, "fare", fare == null ? null : BigInteger.valueOf(fare));
+        putIfPresent(columns, "seats", seats == null ? null : BigInteger.valueOf(seats));
+        putIfPresent(columns, "vehicle_number", vehicleNumber);
+        putIfPresent(columns, "departure_date", departureDate);
+        putIfPresent(columns, "departure_time", departureTime);
+        putIfPresent(columns, "status", status == null ? null : RideStatus.valueOf(status).name());
+    }
 
-        if (jsonPayload.has("vehicleNumber") && !jsonPayload.isNull("vehicleNumber")) {
-            newRide.setVehicleNumber(jsonPayload.getString("vehicleNumber"));
+    private static void putIfPresent(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
         }
+    }
 
-        if (jsonPayload.has("status") && !jsonPayload.isNull("status")) {
-            newRide.setStatus(RideStatus.valueOf(jsonPayload.getString("status")));
-        }
+    /**
+     * Maps a JSON ride event, reading the payload as a token stream without building a tree. JSON is what trip
+     * services published before the binary contract, and stays readable while services are upgraded one by one.
+     * Created events carry the whole ride, updated events only what changed (e.g. seats and status) under the
+     * names rideId and rideStatus. Fields that are missing or null are left out: the trip service writes every
+     * unset field of an update as null. Unknown fields, nested ones included, are skipped without being decoded.
+     */
+    private RidePatch toRidePatchFromJson(byte[] payload) throws IOException {
+        String id = null;
+        // Created events have no version: a ride is created before any of its updates, so they rank lowest
+        long version = 0L;
+        Map<String, Object> columns = new LinkedHashMap<>();
 
-        if (jsonPayload.has("updatedAt") && !jsonPayload.isNull("updatedAt")) {
-            newRide.setUpdatedAt(Instant.parse(jsonPayload.getString("updatedAt")));
-        } else {
-            newRide.setUpdatedAt(Instant.now());
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Ride event must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                // None of the mapped fields is an object or array
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "id", "rideId" -> id = parser.getValueAsString();
+                    case "ownerId" -> columns.put("user_id", parser.getValueAsString());
+                    case "source" -> columns.put("source", parser.getValueAsString());
+                    case "destination" -> columns.put("destination", parser.getValueAsString());
+                    case "fare" -> columns.put("fare", BigInteger.valueOf(longValue(parser)));
+                    case "seats" -> columns.put("seats", BigInteger.valueOf(longValue(parser)));
+                    case "vehicleNumber" -> columns.put("vehicle_number", parser.getValueAsString());
+                    case "departureDate" -> columns.put("departure_date", parser.getValueAsString());
+                    case "departureTime" -> columns.put("departure_time", parser.getValueAsString());
+                    case "status", "rideStatus" -> columns.put("status", RideStatus.valueOf(parser.getValueAsString()).name());
+                    case "version" -> version = longValue(parser);
+                    default -> {
+                        // Unknown scalar, its text is never decoded
+                    }
+                }
+            }
         }
+        return new RidePatch(id, version, columns);
+    }
 
-        return newRide;
+    // Numbers may come quoted; anything else that is not a whole number makes the event malformed instead of 0
+    private static long longValue(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText().trim());
+            } catch (NumberFormatException ignored) {
+                // Reported below
+            }
+        }
+        throw new JsonParseException(parser, "Field " + parser.currentName() + " is not a whole number: "
+                + parser.getText());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package org.buildcode.synchservice.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.buildcode.synchservice.api.config.KafkaBatchConfig;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.buildcode.synchservice.data.mapper.RideMapper;
+import org.buildcode.synchservice.usecase.RideUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes ride created and updated events a poll at a time and writes them in one transaction. A failing write
+ * is thrown so the whole poll is redelivered and its offsets are only committed once it has been applied. A
+ * malformed record, or one the database rejects, ends the poll: the records before it are applied, and the error
+ * handler sends it to the dead letter topic and redelivers the ones after it.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "sync.batch.enabled", havingValue = "true", matchIfMissing = true)
+public class RideBatchEventListener {
+
+    @Autowired
+    private RideMapper rideMapper;
+
+    @Autowired
+    private RideUpdateService rideUpdateService;
+
+    @KafkaListener(topics = {"ride-created-event", "ride-updated-event"}, groupId = "update-group",
+            containerFactory = KafkaBatchConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void listen(List<ConsumerRecord<String, byte[]>> records) {
+        log.info("Received a batch of {} ride events to sync", records.size());
+        List<RidePatch> patches = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, byte[]> record = records.get(i);
+            try {
+                patches.add(rideMapper.toRidePatch(record.value()));
+            } catch (IOException | IllegalArgumentException ex) {
+                log.error("Invalid message received on {} at offset {}: {}", record.topic(), record.offset(), ex.getMessage());
+                // The offsets before the failed record are committed, so its predecessors must be applied now
+                apply(patches);
+                throw new BatchListenerFailedException("Invalid ride event", ex, i);
+            }
+        }
+        apply(patches);
+    }
+
+    // Patches are parsed in record order and the first unreadable record ends the batch, so patch i is record i
+    private void apply(List<RidePatch> patches) {
+        if (patches.isEmpty()) {
+            return;
+        }
+        try {
+            rideUpdateService.updateAll(patches);
+        } catch (DataIntegrityViolationException ex) {
+            // The batch was rolled back; replay it a row at a time to find the record the database rejects
+            log.warn("Batch of {} ride updates was rejected, applying them one by one: {}", patches.size(),
+                    ex.getMessage());
+            for (int i = 0; i < patches.size(); i++) {
+                try {
+                    rideUpdateService.update(patches.get(i));
+                } catch (DataIntegrityViolationException rejected) {
+                    throw new BatchListenerFailedException("Rejected ride event", rejected, i);
+                }
+            }
+        }
+    }
+}
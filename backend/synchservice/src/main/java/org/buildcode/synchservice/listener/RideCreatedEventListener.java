@@ -1,17 +1,20 @@
 package org.buildcode.synchservice.listener;
 
 import lombok.extern.slf4j.Slf4j;
-import org.buildcode.synchservice.data.entity.Ride;
+import org.buildcode.synchservice.data.dto.RidePatch;
 import org.buildcode.synchservice.data.mapper.RideMapper;
 import org.buildcode.synchservice.usecase.RideUpdateService;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
+// Record-at-a-time mode, used when sync.batch.enabled is false
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "sync.batch.enabled", havingValue = "false")
 public class RideCreatedEventListener {
 
     @Autowired
@@ -22,14 +25,13 @@ public class RideCreatedEventListener {
 
 
     @KafkaListener(topics = "ride-created-event", groupId = "update-group")
-    public void listen(final String payload) {
-        log.info("Received the request to sync(update) ride data, ride: {}", payload);
+    public void listen(final byte[] payload) {
+        log.debug("Received the request to sync(update) ride data, {} bytes", payload.length);
         try {
-            JSONObject jsonPayload = new JSONObject(payload);
-            Ride ride = rideMapper.toRideUpdateKafkaPayload(jsonPayload);
-            rideUpdateService.update(ride);
-        } catch (JSONException jsonException) {
-            log.error("Invalid message received: {}", jsonException.getMessage());
+            RidePatch patch = rideMapper.toRidePatch(payload);
+            rideUpdateService.update(patch);
+        } catch (IOException | IllegalArgumentException invalidMessage) {
+            log.error("Invalid message received: {}", invalidMessage.getMessage());
         } catch (Exception ex) {
             log.error("Some error occurred: {}", ex.getMessage());
         }
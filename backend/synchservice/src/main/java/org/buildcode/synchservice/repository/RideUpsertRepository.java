@@ -0,0 +1,118 @@
+package org.buildcode.synchservice.repository;
+
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Applies ride patches with a single conditional {@code INSERT ... ON DUPLICATE KEY UPDATE} that lists only the
+ * columns the patch sets, without reading the ride first. For an existing ride this updates exactly those
+ * columns; a ride whose update arrives before its creation is inserted with what is known so far.
+ * <p>
+ * A patch whose version is at least the stored one overwrites its columns. An older patch only fills columns
+ * that are still empty, so a late creation event completes a ride without undoing the updates applied before it.
+ * Many patches go in one JDBC batch per column set, which the driver sends as multi-row inserts when
+ * {@code rewriteBatchedStatements} is set on the connection URL.
+ * <p>
+ * A patch whose insert collides with another ride on the unique vehicle number changes nothing, and is returned
+ * to the caller as rejected. With {@code useAffectedRows} on the URL an upsert reports 1 for an insert and 2 for
+ * an update; 0 is either a stale or unchanged patch or such a collision, so only for those (and for rewritten
+ * batches, which report no per-row counts) the ride's row is looked up to tell them apart.
+ */
+@Repository
+public class RideUpsertRepository {
+
+    // Rows without a version predate versioned events and accept any
+    private static final String FRESH = "VALUES(version) >= COALESCE(version, -1)";
+
+    // Affected rows of an upsert with useAffectedRows set
+    private static final int INSERTED = 1;
+
+    private static final int UPDATED = 2;
+
+    private final Map<List<String>, String> statements = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // False if the patch was rejected because another ride has its vehicle number
+    public boolean upsert(RidePatch patch) {
+        return upsertAll(List.of(patch)).isEmpty();
+    }
+
+    // Returns the patches rejected because another ride has their vehicle number
+    public List<RidePatch> upsertAll(List<RidePatch> patches) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Map<List<String>, List<RidePatch>> patchesByColumns = new LinkedHashMap<>();
+        for (RidePatch patch : patches) {
+            patchesByColumns.computeIfAbsent(List.copyOf(patch.getColumns().keySet()), key -> new ArrayList<>())
+                    .add(patch);
+        }
+
+        List<RidePatch> unconfirmed = new ArrayList<>();
+        patchesByColumns.forEach((columns, columnPatches) -> {
+            List<Object[]> rows = columnPatches.stream().map(patch -> row(patch, columns, now)).toList();
+            int[] counts = jdbcTemplate.batchUpdate(statement(columns), rows);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != INSERTED && counts[i] != UPDATED) {
+                    unconfirmed.add(columnPatches.get(i));
+                }
+            }
+        });
+        return rejected(unconfirmed);
+    }
+
+    // Patches whose ride has no row: the insert hit another ride's vehicle number and nothing was written
+    private List<RidePatch> rejected(List<RidePatch> patches) {
+        if (patches.isEmpty()) {
+            return List.of();
+        }
+        Set<String> ids = patches.stream().map(RidePatch::getId).collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM rides WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", String.class, ids.toArray()));
+        return patches.stream().filter(patch -> !existing.contains(patch.getId())).toList();
+    }
+
+    // Column names come from RideMapper, never from the event, so they are safe to splice into the statement
+    String statement(List<String> columns) {
+        return statements.computeIfAbsent(columns, key -> {
+            String assignments = key.stream()
+                    // A ride that clashes with another ride on the unique vehicle number must not change that ride
+                    .map(column -> column + " = IF(id <> VALUES(id), " + column + ", IF(" + FRESH + ", VALUES("
+                            + column + "), COALESCE(" + column + ", VALUES(" + column + "))))")
+                    .collect(Collectors.joining(", "));
+            // Assignments see the values assigned before them, so version comes last for the conditions to read the old one
+            return "INSERT INTO rides (id, created_at, "
+                    + key.stream().map(column -> column + ", ").collect(Collectors.joining())
+                    + "updated_at, version) VALUES (?, ?, " + "?, ".repeat(key.size()) + "?, ?)"
+                    + " ON DUPLICATE KEY UPDATE " + (assignments.isEmpty() ? "" : assignments + ", ")
+                    + "updated_at = IF(id = VALUES(id) AND " + FRESH + ", VALUES(updated_at), updated_at), "
+                    + "version = IF(id = VALUES(id) AND " + FRESH + ", VALUES(version), version)";
+        });
+    }
+
+    private static Object[] row(RidePatch patch, List<String> columns, Timestamp now) {
+        Object[] row = new Object[columns.size() + 4];
+        row[0] = patch.getId();
+        row[1] = now;
+        for (int i = 0; i < columns.size(); i++) {
+            row[i + 2] = patch.getColumns().get(columns.get(i));
+        }
+        row[columns.size() + 2] = now;
+        row[columns.size() + 3] = patch.getVersion();
+        return row;
+    }
+}
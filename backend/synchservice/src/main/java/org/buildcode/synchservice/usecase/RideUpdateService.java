@@ -1,9 +1,14 @@
 package org.buildcode.synchservice.usecase;
 
 
-import org.buildcode.synchservice.data.entity.Ride;
+import org.buildcode.synchservice.data.dto.RidePatch;
+
+import java.util.List;
 
 public interface RideUpdateService {
 
-    void update(Ride ride);
+    void update(RidePatch patch);
+
+    // Applies patches consumed in one batch; patches of the same ride are applied one after another in version order
+    void updateAll(List<RidePatch> patches);
 }
\ No newline at end of file
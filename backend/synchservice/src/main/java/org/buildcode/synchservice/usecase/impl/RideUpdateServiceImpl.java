@@ -1,23 +1,78 @@
 package org.buildcode.synchservice.usecase.impl;
 
 import lombok.extern.slf4j.Slf4j;
-import org.buildcode.synchservice.data.entity.Ride;
-import org.buildcode.synchservice.repository.RideRepository;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.buildcode.synchservice.repository.RideUpsertRepository;
 import org.buildcode.synchservice.usecase.RideUpdateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 public class RideUpdateServiceImpl implements RideUpdateService {
 
     @Autowired
-    private RideRepository rideRepository;
+    private RideUpsertRepository rideUpsertRepository;
+
+    @Override
+    public void update(RidePatch patch) {
+        log.debug("Got the ride update request: {}", patch);
+        if (patch.getId() == null) {
+            log.warn("Skipping ride update without ride id: {}", patch);
+            return;
+        }
+        if (rideUpsertRepository.upsert(patch)) {
+            log.info("Synced ride {} at version {}", patch.getId(), patch.getVersion());
+        } else {
+            logRejected(patch);
+        }
+    }
 
+    /**
+     * Patches of one ride are never folded together: the row keeps a single version, so the columns of an older
+     * patch would be written with the newer version and could overwrite values the row already got from an event
+     * in between. Instead the n-th patch of every ride, in version order, goes into the n-th batched upsert. Most
+     * polls carry one event per ride and need a single upsert.
+     */
     @Override
-    public void update(Ride ride) {
-        log.info("Got the ride update request: {}", ride);
-        Ride newRide = rideRepository.save(ride);
-        log.info("Created new ride! : {}", newRide);
+    @Transactional
+    public void updateAll(List<RidePatch> patches) {
+        Map<String, List<RidePatch>> patchesByRide = new LinkedHashMap<>();
+        for (RidePatch patch : patches) {
+            if (patch.getId() == null) {
+                log.warn("Skipping ride update without ride id: {}", patch);
+                continue;
+            }
+            patchesByRide.computeIfAbsent(patch.getId(), id -> new ArrayList<>()).add(patch);
+        }
+
+        List<List<RidePatch>> rounds = new ArrayList<>();
+        for (List<RidePatch> ridePatches : patchesByRide.values()) {
+            // Stable, so patches of the same version keep the order they were consumed in
+            ridePatches.sort(Comparator.comparingLong(RidePatch::getVersion));
+            for (int i = 0; i < ridePatches.size(); i++) {
+                if (rounds.size() == i) {
+                    rounds.add(new ArrayList<>());
+                }
+                rounds.get(i).add(ridePatches.get(i));
+            }
+        }
+        for (List<RidePatch> round : rounds) {
+            rideUpsertRepository.upsertAll(round).forEach(RideUpdateServiceImpl::logRejected);
+        }
+        log.info("Synced {} rides from a batch of {} updates in {} upserts", patchesByRide.size(), patches.size(),
+                rounds.size());
+    }
+
+    private static void logRejected(RidePatch patch) {
+        log.error("Ride {} at version {} was not synced: vehicle number {} belongs to another ride", patch.getId(),
+                patch.getVersion(), patch.getColumns().get("vehicle_number"));
     }
-}
\ No newline at end of file
+}
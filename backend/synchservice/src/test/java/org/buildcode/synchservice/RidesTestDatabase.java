@@ -0,0 +1,49 @@
+package org.buildcode.synchservice;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Embedded MariaDB shared by the tests of this JVM, reached through the same driver and URL options as the
+ * service. Started on first use.
+ */
+public final class RidesTestDatabase {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private RidesTestDatabase() {
+    }
+
+    public static synchronized JdbcTemplate jdbcTemplate() {
+        if (jdbcTemplate == null) {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0);
+            // mariadbd refuses to run as root otherwise, which is what build containers usually are
+            config.addArg("--user=root");
+            try {
+                // Stops and deletes itself when the JVM exits
+                DB.newEmbeddedDB(config.build()).start();
+            } catch (ManagedProcessException ex) {
+                throw new IllegalStateException("Could not start the embedded database", ex);
+            }
+            jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:mysql://localhost:" + config.getPort()
+                    + "/test?rewriteBatchedStatements=true&useAffectedRows=true", "root", ""));
+        }
+        return jdbcTemplate;
+    }
+
+    // The rides table as Hibernate creates it from the Ride entity
+    public static JdbcTemplate emptyRides() {
+        JdbcTemplate jdbc = jdbcTemplate();
+        jdbc.execute("DROP TABLE IF EXISTS rides");
+        jdbc.execute("CREATE TABLE rides (id VARCHAR(36) NOT NULL PRIMARY KEY, source VARCHAR(255), "
+                + "destination VARCHAR(255), user_id VARCHAR(255), seats DECIMAL(38, 0), "
+                + "vehicle_number VARCHAR(255) UNIQUE, status VARCHAR(255), fare DECIMAL(38, 0), "
+                + "departure_date VARCHAR(255), departure_time VARCHAR(255), created_at DATETIME(6), "
+                + "updated_at DATETIME(6), version BIGINT)");
+        return jdbc;
+    }
+}
@@ -0,0 +1,74 @@
+package org.buildcode.synchservice.data.mapper;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RideMapperTest {
+
+    private final RideMapper rideMapper = new RideMapper();
+
+    @Test
+    void mapsACreatedEventAndSkipsUnknownAndNestedFields() throws IOException {
+        RidePatch patch = map("{\"id\":\"ride-1\",\"ownerId\":\"owner-1\",\"deviceToken\":\"secret\","
+                + "\"route\":{\"points\":[[12.9,77.6],[12.97,77.75]],\"seats\":9,\"id\":\"nested\"},"
+                + "\"tags\":[\"ac\",{\"fare\":1}],\"source\":\"Koramangala\",\"seats\":3,\"fare\":250,"
+                + "\"status\":\"ACTIVE\",\"sourceLatitude\":12.9352,\"createdAt\":\"2024-11-12T08:00:00Z\"}");
+
+        assertThat(patch.getId()).isEqualTo("ride-1");
+        assertThat(patch.getVersion()).isZero();
+        assertThat(patch.getColumns()).containsExactly(
+                Map.entry("user_id", "owner-1"),
+                Map.entry("source", "Koramangala"),
+                Map.entry("seats", BigInteger.valueOf(3)),
+                Map.entry("fare", BigInteger.valueOf(250)),
+                Map.entry("status", "ACTIVE"));
+    }
+
+    @Test
+    void leavesOutExplicitNullsLikeAbsentFields() throws IOException {
+        RidePatch withNulls = map("{\"rideId\":\"ride-1\",\"ownerId\":null,\"source\":null,\"fare\":null,"
+                + "\"seats\":2,\"vehicleNumber\":null,\"rideStatus\":\"ACTIVE\",\"departureDate\":null,\"version\":7}");
+        RidePatch withoutNulls = map("{\"rideId\":\"ride-1\",\"seats\":2,\"rideStatus\":\"ACTIVE\",\"version\":7}");
+
+        assertThat(withNulls).isEqualTo(withoutNulls);
+        assertThat(withNulls.getColumns()).containsOnlyKeys("seats", "status");
+        assertThat(withNulls.getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void readsQuotedNumbersAndRejectsOtherValues() throws IOException {
+        RidePatch patch = map("{\"rideId\":\"ride-1\",\"seats\":\"2\",\"fare\":\" 300 \",\"version\":\"1731403800\"}");
+        assertThat(patch.getColumns()).containsEntry("seats", BigInteger.TWO).containsEntry("fare", BigInteger.valueOf(300));
+        assertThat(patch.getVersion()).isEqualTo(1731403800L);
+
+        assertThatThrownBy(() -> map("{\"rideId\":\"ride-1\",\"seats\":\"two\"}")).isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> map("{\"rideId\":\"ride-1\",\"seats\":2.5}")).isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> map("{\"rideId\":\"ride-1\",\"rideStatus\":\"LOST\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map("[{\"rideId\":\"ride-1\"}]")).isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    void mapsBinaryEventsLikeTheirJsonEquivalent() throws IOException {
+        byte[] binary = EventCodecs.RIDE_UPDATED.encode(RideUpdatedEvent.builder()
+                .rideId("ride-1").seats(2L).status("ACTIVE").version(7L).build());
+
+        assertThat(rideMapper.toRidePatch(binary))
+                .isEqualTo(map("{\"rideId\":\"ride-1\",\"seats\":2,\"rideStatus\":\"ACTIVE\",\"version\":7}"));
+    }
+
+    private RidePatch map(String json) throws IOException {
+        return rideMapper.toRidePatch(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package org.buildcode.synchservice.listener;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.buildcode.synchservice.api.config.KafkaBatchConfig;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.buildcode.synchservice.data.mapper.RideMapper;
+import org.buildcode.synchservice.usecase.RideUpdateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(classes = {KafkaBatchConfig.class, RideBatchEventListener.class, RideMapper.class},
+        properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 1, topics = {"ride-created-event", "ride-updated-event",
+        "ride-created-event.DLT", "ride-updated-event.DLT"})
+class RideBatchEventListenerTest {
+
+    @Autowired
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @MockitoBean
+    private RideUpdateService rideUpdateService;
+
+    @Test
+    void sendsOnlyUnreadableAndRejectedEventsToTheDeadLetterTopicWithoutRetrying() {
+        List<String> synced = new CopyOnWriteArrayList<>();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<RidePatch> patches = invocation.getArgument(0);
+            batchSizes.add(patches.size());
+            if (patches.stream().anyMatch(patch -> patch.getId().equals("too-long"))) {
+                throw new DataIntegrityViolationException("Data too long for column 'source'");
+            }
+            patches.forEach(patch -> synced.add(patch.getId()));
+            return null;
+        }).when(rideUpdateService).updateAll(anyList());
+        doAnswer(invocation -> {
+            RidePatch patch = invocation.getArgument(0);
+            if (patch.getId().equals("too-long")) {
+                throw new DataIntegrityViolationException("Data too long for column 'source'");
+            }
+            synced.add(patch.getId());
+            return null;
+        }).when(rideUpdateService).update(any(RidePatch.class));
+
+        send("ride-updated-event", "{\"rideId\":\"ride-1\",\"seats\":2,\"version\":1}");
+        send("ride-updated-event", "not a ride event");
+        send("ride-updated-event", "{\"rideId\":\"ride-2\",\"seats\":1,\"version\":1}");
+
+        List<String> deadLetters = new ArrayList<>(deadLetters(1));
+        assertThat(deadLetters).containsExactly("not a ride event");
+        assertThat(synced).contains("ride-1", "ride-2");
+
+        // Held back while paused, so the rejected ride arrives in one poll between two valid ones
+        MessageListenerContainer container = registry.getListenerContainers().iterator().next();
+        container.pause();
+        await(container::isContainerPaused);
+        batchSizes.clear();
+        send("ride-created-event", "{\"id\":\"ride-3\",\"source\":\"MG Road\"}");
+        send("ride-created-event", "{\"id\":\"too-long\",\"source\":\"...\"}");
+        send("ride-created-event", "{\"id\":\"ride-4\",\"source\":\"MG Road\"}");
+        kafkaTemplate.flush();
+        container.resume();
+
+        deadLetters = deadLetters(1);
+        assertThat(deadLetters).containsExactly("{\"id\":\"too-long\",\"source\":\"...\"}");
+        await(() -> synced.contains("ride-4"));
+        assertThat(batchSizes).first().isEqualTo(3);
+        assertThat(synced).contains("ride-3", "ride-4").doesNotContain("too-long");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private void send(String topic, String value) {
+        kafkaTemplate.send(topic, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Fails if the records do not arrive well within the first retry interval
+    private List<String> deadLetters(int count) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dead-letters", "false", broker);
+        props.put("auto.offset.reset", "earliest");
+        List<String> values = new ArrayList<>();
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ByteArrayDeserializer()).createConsumer()) {
+            consumer.subscribe(Set.of("ride-created-event.DLT", "ride-updated-event.DLT"));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (values.size() < count && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+                    values.add(new String(record.value(), StandardCharsets.UTF_8));
+                }
+            }
+            consumer.commitSync();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,87 @@
+package org.buildcode.synchservice.repository;
+
+import org.buildcode.synchservice.RidesTestDatabase;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideUpsertRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private RideUpsertRepository rideUpsertRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = RidesTestDatabase.emptyRides();
+        rideUpsertRepository = new RideUpsertRepository();
+        ReflectionTestUtils.setField(rideUpsertRepository, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void statementListsOnlyThePatchedColumnsAndAssignsVersionLast() {
+        String statement = rideUpsertRepository.statement(List.of("seats", "status"));
+
+        assertThat(statement).startsWith("INSERT INTO rides (id, created_at, seats, status, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE seats = ");
+        assertThat(statement).doesNotContain("source").doesNotContain("fare");
+        assertThat(statement.indexOf("status = ")).isLessThan(statement.indexOf("updated_at = "));
+        assertThat(statement).endsWith("version = IF(id = VALUES(id) AND VALUES(version) >= COALESCE(version, -1), "
+                + "VALUES(version), version)");
+        assertThat(rideUpsertRepository.statement(List.of("seats", "status"))).isSameAs(statement);
+    }
+
+    @Test
+    void stalePatchOnlyFillsEmptyColumns() {
+        rideUpsertRepository.upsert(new RidePatch("ride-1", 10, Map.of("seats", 2)));
+
+        assertThat(rideUpsertRepository.upsert(new RidePatch("ride-1", 5, Map.of("seats", 4, "source", "MG Road"))))
+                .isTrue();
+
+        Map<String, Object> ride = ride("ride-1");
+        assertThat(ride.get("seats")).isEqualTo(new BigDecimal(2));
+        assertThat(ride.get("source")).isEqualTo("MG Road");
+        assertThat(ride.get("version")).isEqualTo(10L);
+    }
+
+    @Test
+    void freshPatchOverwritesItsColumnsOnly() {
+        rideUpsertRepository.upsert(new RidePatch("ride-1", 1, Map.of("seats", 2, "source", "MG Road")));
+
+        rideUpsertRepository.upsert(new RidePatch("ride-1", 2, Map.of("seats", 1)));
+
+        Map<String, Object> ride = ride("ride-1");
+        assertThat(ride.get("seats")).isEqualTo(new BigDecimal(1));
+        assertThat(ride.get("source")).isEqualTo("MG Road");
+        assertThat(ride.get("version")).isEqualTo(2L);
+    }
+
+    @Test
+    void reportsPatchesWhoseVehicleNumberBelongsToAnotherRide() {
+        rideUpsertRepository.upsert(new RidePatch("ride-1", 1, Map.of("vehicle_number", "KA01AB1234", "seats", 2)));
+
+        List<RidePatch> rejected = rideUpsertRepository.upsertAll(List.of(
+                new RidePatch("ride-2", 1, Map.of("vehicle_number", "KA01AB1234", "seats", 4)),
+                new RidePatch("ride-3", 1, Map.of("vehicle_number", "KA02CD5678", "seats", 3)),
+                new RidePatch("ride-1", 0, Map.of("vehicle_number", "KA01AB1234", "seats", 1))));
+
+        assertThat(rejected).extracting(RidePatch::getId).containsExactly("ride-2");
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM rides ORDER BY id", String.class))
+                .containsExactly("ride-1", "ride-3");
+        assertThat(ride("ride-1").get("seats")).isEqualTo(new BigDecimal(2));
+        assertThat(rideUpsertRepository.upsert(new RidePatch("ride-4", 1, Map.of("vehicle_number", "KA02CD5678"))))
+                .isFalse();
+    }
+
+    private Map<String, Object> ride(String id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM rides WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,65 @@
+package org.buildcode.synchservice.usecase.impl;
+
+import org.buildcode.synchservice.RidesTestDatabase;
+import org.buildcode.synchservice.data.dto.RidePatch;
+import org.buildcode.synchservice.repository.RideUpsertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideUpdateServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private RideUpdateServiceImpl rideUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = RidesTestDatabase.emptyRides();
+        RideUpsertRepository rideUpsertRepository = new RideUpsertRepository();
+        ReflectionTestUtils.setField(rideUpsertRepository, "jdbcTemplate", jdbcTemplate);
+        rideUpdateService = new RideUpdateServiceImpl();
+        ReflectionTestUtils.setField(rideUpdateService, "rideUpsertRepository", rideUpsertRepository);
+    }
+
+    @Test
+    void olderEventInAPollDoesNotOverwriteANewerValueOfTheRow() {
+        rideUpdateService.update(new RidePatch("ride-1", 10, Map.of("seats", 2, "status", "ACTIVE")));
+
+        // The stale event only sets seats, the fresh one only status
+        rideUpdateService.updateAll(List.of(
+                new RidePatch("ride-1", 5, Map.of("seats", 4)),
+                new RidePatch("ride-1", 20, Map.of("status", "COMPLETED"))));
+
+        Map<String, Object> ride = ride("ride-1");
+        assertThat(ride.get("seats")).isEqualTo(new BigDecimal(2));
+        assertThat(ride.get("status")).isEqualTo("COMPLETED");
+        assertThat(ride.get("version")).isEqualTo(20L);
+    }
+
+    @Test
+    void appliesThePatchesOfARideInVersionOrder() {
+        rideUpdateService.updateAll(List.of(
+                new RidePatch("ride-1", 3, Map.of("seats", 1)),
+                new RidePatch("ride-2", 1, Map.of("seats", 3)),
+                new RidePatch("ride-1", 1, Map.of("seats", 3, "source", "Koramangala")),
+                new RidePatch("ride-1", 2, Map.of("seats", 2))));
+
+        Map<String, Object> ride = ride("ride-1");
+        assertThat(ride.get("seats")).isEqualTo(new BigDecimal(1));
+        assertThat(ride.get("source")).isEqualTo("Koramangala");
+        assertThat(ride.get("version")).isEqualTo(3L);
+        assertThat(ride("ride-2").get("seats")).isEqualTo(new BigDecimal(3));
+    }
+
+    private Map<String, Object> ride(String id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM rides WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,29 @@
+package org.buildcode.ride_search_service.api.config;
+
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.service.SearchProjectionTracker;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * Only the search projection replays the ride topics and reports its lag to the {@link SearchProjectionTracker},
+ * so it gets a factory of its own. Every other listener uses the auto-configured default factory and resumes
+ * from its group's committed offsets.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean(KafkaConstants.SEARCH_PROJECTION_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> searchProjectionContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            SearchProjectionTracker searchProjectionTracker) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.getContainerProperties().setConsumerRebalanceListener(searchProjectionTracker.rebalanceListener());
+        return factory;
+    }
+}
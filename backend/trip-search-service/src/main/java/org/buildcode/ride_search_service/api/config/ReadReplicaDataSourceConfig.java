@@ -0,0 +1,69 @@
+package org.buildcode.ride_search_service.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions (every search query) to {@code spring.datasource.replica} and everything else
+ * to the primary {@code spring.datasource}. The lazy proxy defers fetching a connection until the first
+ * statement, by which point the transaction's read-only flag is known. Without a replica URL the default
+ * auto-configured data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties replicaProperties = binder
+                .bind("spring.datasource.replica", DataSourceProperties.class)
+                .get();
+
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource();
+        DataSource primary = hikari(dataSourceProperties, binder, "search-primary");
+        routingDataSource.setTargetDataSources(Map.of(
+                PRIMARY, primary,
+                REPLICA, hikari(replicaProperties, binder, "search-replica")
+        ));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        log.info("Routing read-only transactions to replica {}", replicaProperties.getUrl());
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Both pools take their settings from spring.datasource.hikari
+    private static HikariDataSource hikari(DataSourceProperties properties, Binder binder, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+
+    private static class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+        }
+    }
+}
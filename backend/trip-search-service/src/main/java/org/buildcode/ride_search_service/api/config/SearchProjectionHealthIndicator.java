@@ -0,0 +1,28 @@
+package org.buildcode.ride_search_service.api.config;
+
+import org.buildcode.ride_search_service.index.RouteIndex;
+import org.buildcode.ride_search_service.service.SearchProjectionTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group: the instance only takes search traffic once its projection is current
+@Component
+public class SearchProjectionHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private SearchProjectionTracker searchProjectionTracker;
+
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = searchProjectionTracker.isCaughtUp() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("rides", routeIndex.size())
+                .withDetail("laggingPartitions", searchProjectionTracker.getLaggingPartitionCount())
+                .build();
+    }
+}
@@ -4,12 +4,20 @@ public class ApiConstants {
     // API URI
     public final static String RIDE_SERVICE_V1 = "/ride-service/v1";
     public final static String SEARCH = "/search";
+    public final static String BATCH = "/batch";
+    public final static String ASYNC = "/async";
+    public final static String STREAM = "/stream";
+    public final static String LOCATIONS = "/locations";
+    public final static String SAVED = "/saved";
+    public final static String SCAN = "/scan";
+    public final static String APPLICATION_NDJSON = "application/x-ndjson";
 
     // API error code
     public final static String INTERNAL_SERVER_ERROR = "INTERNAL_SERVER_ERROR";
     public final static String UNAUTHORIZED = "UNAUTHORIZED";
     public final static String BAD_REQUEST = "BAD_REQUEST";
     public final static String NOT_FOUND = "NOT_FOUND";
+    public final static String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
     public final static String INVALID_BOOKING_REQUEST_DATA = "MESSAGE_INVALID_BOOKING_REQUEST_DATA";
     public final static String ROOM_UNAVAILABLE = "ROOM_UNAVAILABLE";
 
@@ -0,0 +1,10 @@
+package org.buildcode.ride_search_service.api.constants;
+
+public class KafkaConstants {
+    public static final String RIDE_CREATED_TOPIC = "ride-created-event";
+    public static final String RIDE_UPDATED_TOPIC = "ride-updated-event";
+    public static final String SEND_NOTIFICATION_TOPIC = "send-notification-event";
+    public static final String SEARCH_PROJECTION_LISTENER = "search-projection";
+    public static final String SAVED_SEARCH_LISTENER = "saved-search-matcher";
+    public static final String SEARCH_PROJECTION_CONTAINER_FACTORY = "searchProjectionContainerFactory";
+}
@@ -5,5 +5,24 @@ public enum RideStatus {
 
     DELETED,
 
-    COMPLETED
-}
\ No newline at end of file
+    COMPLETED;
+
+    // Maps the trip service status (ACTIVE/COMPLETED/CANCELLED) carried on ride events
+    public static RideStatus fromEventStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        switch (status) {
+            case "ACTIVE":
+            case "CREATED":
+                return CREATED;
+            case "CANCELLED":
+            case "DELETED":
+                return DELETED;
+            case "COMPLETED":
+                return COMPLETED;
+            default:
+                throw new IllegalArgumentException("Unknown ride status: " + status);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchRideSearchRequestModel {
+
+    @Schema(description = "Searches to run, answered in the same order")
+    private List<RideSearchRequestModel> searches;
+}
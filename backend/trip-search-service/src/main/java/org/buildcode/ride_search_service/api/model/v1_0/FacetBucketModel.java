@@ -0,0 +1,22 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetBucketModel {
+
+    @Schema(description = "Facet value", example = "3+")
+    private String value;
+
+    @Schema(description = "Matching rides with this value", example = "12")
+    private Integer count;
+}
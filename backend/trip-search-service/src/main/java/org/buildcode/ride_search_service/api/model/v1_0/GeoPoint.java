@@ -0,0 +1,30 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeoPoint {
+
+    @Schema(description = "Latitude in degrees", example = "12.9716")
+    private Double latitude;
+
+    @Schema(description = "Longitude in degrees", example = "77.5946")
+    private Double longitude;
+
+    @JsonIgnore
+    public boolean isValid() {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+}
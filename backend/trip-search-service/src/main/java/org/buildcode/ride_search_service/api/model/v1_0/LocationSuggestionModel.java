@@ -0,0 +1,22 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LocationSuggestionModel {
+
+    @Schema(description = "Location name, usable as a search source or destination", example = "Koramangala")
+    private String location;
+
+    @Schema(description = "Number of open rides starting or ending at the location", example = "42")
+    private Integer rides;
+}
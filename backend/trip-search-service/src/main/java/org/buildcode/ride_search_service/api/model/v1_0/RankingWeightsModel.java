@@ -0,0 +1,30 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RankingWeightsModel {
+
+    @Schema(description = "Weight of each hour between departure and the requested departure", example = "1.0")
+    private Double departure;
+
+    @Schema(description = "Weight of each 100 of fare", example = "0.5")
+    private Double fare;
+
+    @Schema(description = "Weight of the inverse of the remaining seats", example = "0.2")
+    private Double seats;
+
+    @Schema(description = "Weight of each kilometer of pickup distance or detour", example = "1.0")
+    private Double detour;
+}
@@ -27,6 +27,9 @@ public class RideDetails {
     @Schema(description = "Seats available on the ride", example = "3")
     private Integer availableSeats;
 
+    @Schema(description = "Fare for the ride", example = "150")
+    private Long fare;
+
 //    @Schema(description = "Owner details")
 //    private Owner owner;
 
@@ -35,4 +38,13 @@ public class RideDetails {
 
     @Schema(description = "Vehicle details")
     private Vehicle vehicle;
+
+    @Schema(description = "Distance from the requested pickup point to the ride's pickup, radius searches only", example = "320")
+    private Integer pickupDistanceMeters;
+
+    @Schema(description = "Distance from the requested drop-off point to the ride's drop-off, radius searches only", example = "540")
+    private Integer dropOffDistanceMeters;
+
+    @Schema(description = "Estimated extra distance the driver travels to serve the rider, en-route searches only", example = "700")
+    private Integer detourMeters;
 }
@@ -0,0 +1,40 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RideScanRequestModel {
+
+    @Schema(description = "Start locations; each matches every location whose name starts with it, empty for any",
+            example = "[\"koramangala\"]")
+    private List<String> sources;
+
+    @Schema(description = "End locations, matched like sources, empty for any", example = "[\"whitefield\"]")
+    private List<String> destinations;
+
+    @Schema(description = "Seats required", example = "2")
+    private Integer seats;
+
+    @Schema(description = "Earliest departure, inclusive", example = "2024-11-16T00:00:00")
+    private LocalDateTime departureFrom;
+
+    @Schema(description = "Latest departure, inclusive", example = "2024-11-17T23:59:59")
+    private LocalDateTime departureTo;
+
+    @Schema(description = "Highest fare; rides without a fare are left out when set", example = "300")
+    private Long maxFare;
+}
@@ -1,26 +1,78 @@
 package org.buildcode.ride_search_service.api.model.v1_0;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class RideSearchRequestModel {
 
-    @NotNull(message = "Source location is required")
-    @Schema(description = "Source location for the ride", example = "location")
+    @Schema(description = "Source location for the ride, required unless both coordinates are given", example = "location")
     private String source;
 
-    @NotNull(message = "Destination location is required")
-    @Schema(description = "Destination location for the ride", example = "location")
+    @Schema(description = "Destination location for the ride, required unless both coordinates are given", example = "location")
     private String destination;
 
     @Schema(description = "Seats required", example = "4")
     private Integer seats;
+
+    @Schema(description = "Earliest departure, inclusive", example = "2024-11-12T09:00:00")
+    private LocalDateTime departureFrom;
+
+    @Schema(description = "Latest departure, inclusive", example = "2024-11-12T11:00:00")
+    private LocalDateTime departureTo;
+
+    @Schema(description = "Pickup point; together with destinationLocation switches to a radius search")
+    private GeoPoint sourceLocation;
+
+    @Schema(description = "Drop-off point; together with sourceLocation switches to a radius search")
+    private GeoPoint destinationLocation;
+
+    @Schema(description = "Search radius around both points in meters", example = "1000")
+    private Integer radiusMeters;
+
+    @Schema(description = "Match rides whose route passes near both points instead of rides starting and ending near them")
+    private Boolean enRoute;
+
+    @Schema(description = "Largest detour the driver would make for the rider in meters, en-route searches only", example = "1000")
+    private Integer maxDetourMeters;
+
+    @Schema(description = "Rank results by a configured profile (balanced, soonest, cheapest) instead of departure order",
+            example = "balanced")
+    private String rankBy;
+
+    @Schema(description = "Ranking weights overriding those of the profile; setting any enables ranking")
+    private RankingWeightsModel rankingWeights;
+
+    @Schema(description = "Also count the matching rides by seats, car model, departure hour and fare band")
+    private Boolean includeFacets;
+
+    @JsonIgnore
+    public boolean isRanked() {
+        return rankBy != null || rankingWeights != null;
+    }
+
+    @JsonIgnore
+    public boolean isFacetsRequested() {
+        return Boolean.TRUE.equals(includeFacets);
+    }
+
+    @JsonIgnore
+    public boolean hasCoordinates() {
+        return sourceLocation != null && sourceLocation.isValid()
+                && destinationLocation != null && destinationLocation.isValid();
+    }
+
+    @JsonIgnore
+    public boolean isEnRouteSearch() {
+        return Boolean.TRUE.equals(enRoute) && hasCoordinates();
+    }
 }
@@ -8,7 +8,7 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class RideSearchResultResponseModel {
 
@@ -29,4 +29,20 @@ public class RideSearchResultResponseModel {
 
     @Schema(description = "Total number of pages available", example = "5")
     private Integer totalPages;
+
+    @Schema(description = "Opaque cursor for the next page when paging by cursor, absent on the last page",
+            example = "MTczMTQwMzgwMDAwMDphYmMxMjM")
+    private String nextCursor;
+
+    @Schema(description = "Counts over all matching rides, only when requested with includeFacets and not while "
+            + "the route index is still loading")
+    private SearchFacetsModel facets;
+
+    @Schema(description = "Known locations resembling the source, only when the source is not a known location",
+            example = "[\"andheri west\"]")
+    private List<String> sourceSuggestions;
+
+    @Schema(description = "Known locations resembling the destination, only when the destination is not a known "
+            + "location", example = "[\"koramangala\"]")
+    private List<String> destinationSuggestions;
 }
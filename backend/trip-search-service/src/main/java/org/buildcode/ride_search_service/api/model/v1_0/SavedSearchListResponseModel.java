@@ -0,0 +1,17 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SavedSearchListResponseModel {
+
+    @Schema(description = "Saved searches of the rider, newest first")
+    private List<SavedSearchModel> savedSearches;
+}
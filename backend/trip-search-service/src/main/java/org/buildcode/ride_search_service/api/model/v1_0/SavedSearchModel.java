@@ -0,0 +1,35 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SavedSearchModel {
+
+    @Schema(description = "Id of the saved search", example = "7f1c2a9e-0c1d-4a43-9d7e-1b2f3c4d5e6f")
+    private String savedSearchId;
+
+    @Schema(description = "Rider notified on matches", example = "rider-1")
+    private String riderId;
+
+    @Schema(description = "Source location for the ride", example = "location")
+    private String source;
+
+    @Schema(description = "Destination location for the ride", example = "location")
+    private String destination;
+
+    @Schema(description = "Seats required", example = "2")
+    private Integer seats;
+
+    @Schema(description = "Earliest departure, inclusive", example = "2024-11-12T09:00:00")
+    private LocalDateTime departureFrom;
+
+    @Schema(description = "Latest departure, inclusive", example = "2024-11-12T11:00:00")
+    private LocalDateTime departureTo;
+}
@@ -0,0 +1,34 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SavedSearchRequestModel {
+
+    @Schema(description = "Rider to notify when a matching ride is created", example = "rider-1")
+    private String riderId;
+
+    @Schema(description = "Source location for the ride", example = "location")
+    private String source;
+
+    @Schema(description = "Destination location for the ride", example = "location")
+    private String destination;
+
+    @Schema(description = "Seats required", example = "2")
+    private Integer seats;
+
+    @Schema(description = "Earliest departure, inclusive", example = "2024-11-12T09:00:00")
+    private LocalDateTime departureFrom;
+
+    @Schema(description = "Latest departure, inclusive", example = "2024-11-12T11:00:00")
+    private LocalDateTime departureTo;
+}
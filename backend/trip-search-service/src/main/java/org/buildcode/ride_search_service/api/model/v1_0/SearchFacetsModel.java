@@ -0,0 +1,26 @@
+package org.buildcode.ride_search_service.api.model.v1_0;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchFacetsModel {
+
+    @Schema(description = "Rides by remaining seats: 1, 2 and 3+")
+    private List<FacetBucketModel> seats;
+
+    @Schema(description = "Rides by car model, most common first")
+    private List<FacetBucketModel> carModels;
+
+    @Schema(description = "Rides by local departure hour, 0 to 23")
+    private List<FacetBucketModel> departureHours;
+
+    @Schema(description = "Rides by fare band, e.g. 100-250 or 500+")
+    private List<FacetBucketModel> fareBands;
+}
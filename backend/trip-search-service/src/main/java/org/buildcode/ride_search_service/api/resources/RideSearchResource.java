@@ -6,10 +6,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.buildcode.ride_search_service.api.constants.ApiConstants;
+import org.buildcode.ride_search_service.api.model.v1_0.BatchRideSearchRequestModel;
+import org.buildcode.ride_search_service.api.model.v1_0.BatchRideSearchResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.LocationSuggestionResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.RideScanRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchResultResponseModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Ride Search Resource")
 @RequestMapping(value = ApiConstants.RIDE_SERVICE_V1 + ApiConstants.SEARCH)
@@ -22,11 +29,98 @@ public interface RideSearchResource {
                     @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
             }
     )
-    @Operation(method = "POST", summary = "Search rides")
+    @Operation(method = "POST", summary = "Search rides",
+            description = "Pass `cursor` (empty for the first page, then the returned `nextCursor`) to page by cursor " +
+                    "instead of page number. The total count is only computed in cursor mode when `includeTotal` is set.")
     @PostMapping
     ResponseEntity<RideSearchResultResponseModel> getRides(
+            @RequestBody RideSearchRequestModel searchRequestModel,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "3") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    );
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "503", description = ApiConstants.MESSAGE_SERVICE_UNAVAILABLE),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "POST", summary = "Search rides without holding a request thread",
+            description = "Same search and response as the page-numbered search. The request thread is released " +
+                    "while the search waits; searches that need the database run on a bounded pool and are " +
+                    "refused with 503 and `Retry-After` when it is full.")
+    @PostMapping(ApiConstants.ASYNC)
+    CompletableFuture<RideSearchResultResponseModel> getRidesAsync(
             @RequestBody RideSearchRequestModel searchRequestModel,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "3") int size
     );
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "POST", summary = "Run several ride searches at once",
+            description = "Returns one result per search, in request order, all for the same `page` and `size`. " +
+                    "Repeated searches are answered once and searches on the same route share one lookup.")
+    @PostMapping(ApiConstants.BATCH)
+    ResponseEntity<BatchRideSearchResponseModel> getRidesBatch(
+            @RequestBody BatchRideSearchRequestModel batchRequestModel,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "3") int size
+    );
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "POST", summary = "Stream all matching rides",
+            description = "Writes every matching ride in departure order as one JSON object per line " +
+                    "(application/x-ndjson) while it is read. Not available for radius or en-route searches.")
+    @PostMapping(value = ApiConstants.STREAM, produces = ApiConstants.APPLICATION_NDJSON)
+    ResponseEntity<StreamingResponseBody> streamRides(@RequestBody RideSearchRequestModel searchRequestModel);
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "GET", summary = "Suggest locations",
+            description = "Returns known locations starting with `prefix`, ordered by how many open rides start or " +
+                    "end there. Meant to be called on every keystroke of the source and destination fields.")
+    @GetMapping(ApiConstants.LOCATIONS)
+    ResponseEntity<LocationSuggestionResponseModel> suggestLocations(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    );
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "503", description = ApiConstants.MESSAGE_SERVICE_UNAVAILABLE),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "POST", summary = "Scan rides across routes",
+            description = "Counts every open ride matching the filters, for example all rides leaving a district " +
+                    "over a weekend, and returns the `limit` earliest departing ones. Unavailable while the route " +
+                    "index is loading.")
+    @PostMapping(ApiConstants.SCAN)
+    ResponseEntity<RideSearchResultResponseModel> scanRides(
+            @RequestBody RideScanRequestModel scanRequestModel,
+            @RequestParam(defaultValue = "20") int limit
+    );
 }
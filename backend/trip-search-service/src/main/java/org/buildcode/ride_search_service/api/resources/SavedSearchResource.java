@@ -0,0 +1,52 @@
+package org.buildcode.ride_search_service.api.resources;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.buildcode.ride_search_service.api.constants.ApiConstants;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchListResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchRequestModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Saved Search Resource")
+@RequestMapping(value = ApiConstants.RIDE_SERVICE_V1 + ApiConstants.SEARCH + ApiConstants.SAVED)
+public interface SavedSearchResource {
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "POST", summary = "Save a search",
+            description = "The rider is sent a notification (send-notification-event) for every ride created afterwards " +
+                    "on the same route with enough seats and, when given, a departure within the window.")
+    @PostMapping
+    ResponseEntity<SavedSearchModel> createSavedSearch(@RequestBody SavedSearchRequestModel savedSearchRequestModel);
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "400", description = ApiConstants.MESSAGE_BAD_REQUEST),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "GET", summary = "List the saved searches of a rider")
+    @GetMapping
+    ResponseEntity<SavedSearchListResponseModel> getSavedSearches(@RequestParam String riderId);
+
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "204", description = ApiConstants.MESSAGE_SUCCESS),
+                    @ApiResponse(responseCode = "404", description = ApiConstants.MESSAGE_NOT_FOUND),
+                    @ApiResponse(responseCode = "500", description = ApiConstants.MESSAGE_INTERNAL_SERVER_ERROR),
+            }
+    )
+    @Operation(method = "DELETE", summary = "Delete a saved search")
+    @DeleteMapping("/{savedSearchId}")
+    ResponseEntity<Void> deleteSavedSearch(@PathVariable String savedSearchId, @RequestParam String riderId);
+}
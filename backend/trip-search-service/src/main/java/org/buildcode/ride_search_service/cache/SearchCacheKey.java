@@ -0,0 +1,57 @@
+package org.buildcode.ride_search_service.cache;
+
+import lombok.Value;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.buildcode.ride_search_service.index.LocationNormalizer;
+import org.buildcode.ride_search_service.ranking.RankingWeights;
+
+/**
+ * Normalized search criteria plus the requested page. Two requests with the same key always
+ * produce the same response until the corridor is invalidated.
+ */
+@Value
+public class SearchCacheKey {
+
+    String routeKey;
+
+    int minSeats;
+
+    long departureFrom;
+
+    long departureTo;
+
+    int page;
+
+    int size;
+
+    String cursor;
+
+    boolean includeTotal;
+
+    // Null for departure order
+    RankingWeights ranking;
+
+    boolean facets;
+
+    public static SearchCacheKey ofPage(String source, String destination, int minSeats, DepartureWindow window,
+                                        int page, int size) {
+        return ofPage(source, destination, minSeats, window, page, size, null);
+    }
+
+    public static SearchCacheKey ofPage(String source, String destination, int minSeats, DepartureWindow window,
+                                        int page, int size, RankingWeights ranking) {
+        return ofPage(source, destination, minSeats, window, page, size, ranking, false);
+    }
+
+    public static SearchCacheKey ofPage(String source, String destination, int minSeats, DepartureWindow window,
+                                        int page, int size, RankingWeights ranking, boolean facets) {
+        return new SearchCacheKey(LocationNormalizer.routeKey(source, destination), minSeats,
+                window.getFrom(), window.getTo(), page, size, null, true, ranking, facets);
+    }
+
+    public static SearchCacheKey ofCursor(String source, String destination, int minSeats, DepartureWindow window,
+                                          String cursor, int size, boolean includeTotal) {
+        return new SearchCacheKey(LocationNormalizer.routeKey(source, destination), minSeats,
+                window.getFrom(), window.getTo(), -1, size, cursor == null ? "" : cursor, includeTotal, null, false);
+    }
+}
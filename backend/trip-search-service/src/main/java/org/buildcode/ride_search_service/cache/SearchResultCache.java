@@ -0,0 +1,293 @@
+package org.buildcode.ride_search_service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.buildcode.ride_search_service.api.model.v1_0.RideSearchResultResponseModel;
+import org.buildcode.ride_search_service.data.dto.SearchCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search responses. Entries are weighed by the number of rides they hold and
+ * evicted least-recently-used first once the total weight exceeds {@code search.cache.max-weight}.
+ * <p>
+ * Keys are also indexed by corridor so a ride event only invalidates the searches on that corridor.
+ * A per-corridor generation guards against a search that started before an invalidation caching
+ * its now stale result afterwards.
+ * <p>
+ * Identical searches that miss at the same time are coalesced: the first one runs the search and the
+ * others wait for its result. An invalidation detaches the searches in flight on the corridor, so a
+ * request arriving after a ride event never joins a search that started before it. Coalescing also
+ * applies when caching is disabled.
+ */
+@Component
+public class SearchResultCache {
+
+    private final boolean enabled;
+
+    private final long maxWeight;
+
+    private final LinkedHashMap<SearchCacheKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Map<String, Set<SearchCacheKey>> keysByCorridor = new HashMap<>();
+
+    private final Map<String, Long> generations = new HashMap<>();
+
+    // Bumped by invalidateAll so that searches in flight on any corridor are not cached afterwards
+    private long epoch;
+
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final Map<SearchCacheKey, CompletableFuture<RideSearchResultResponseModel>> inFlight = new HashMap<>();
+
+    // Searches actually run, and requests that waited for one of them instead
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public SearchResultCache(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled() && properties.getMaxWeight() > 0;
+        this.maxWeight = properties.getMaxWeight();
+
+        FunctionCounter.builder("search.cache.hits", hits, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("search.cache.misses", misses, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("search.cache.evictions", evictions, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("search.cache.invalidations", invalidations, LongAdder::doubleValue).register(meterRegistry);
+        Gauge.builder("search.cache.weight", this, SearchResultCache::getWeight).register(meterRegistry);
+        Gauge.builder("search.cache.size", this, SearchResultCache::getSize).register(meterRegistry);
+        FunctionCounter.builder("search.coalesce.executions", executions, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("search.coalesce.waiters", coalesced, LongAdder::doubleValue).register(meterRegistry);
+        Gauge.builder("search.coalesce.in.flight", this, SearchResultCache::getInFlight).register(meterRegistry);
+        Gauge.builder("search.coalesce.ratio", this, SearchResultCache::getCoalesceRatio).register(meterRegistry);
+    }
+
+    public RideSearchResultResponseModel get(SearchCacheKey key, Supplier<RideSearchResultResponseModel> search) {
+        Lookup lookup = lookup(key);
+        if (lookup.cached != null) {
+            return lookup.cached;
+        }
+        if (!lookup.leader) {
+            return await(lookup.flight);
+        }
+        return run(key, lookup, search);
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}: hits and searches already in flight are returned without waiting,
+     * a miss runs {@code search} on {@code executor}. Throws {@link RejectedExecutionException} when the executor
+     * refuses the search; requests that joined it in the meantime fail with the same exception.
+     */
+    public CompletableFuture<RideSearchResultResponseModel> getAsync(SearchCacheKey key, Executor executor,
+                                                                     Supplier<RideSearchResultResponseModel> search) {
+        Lookup lookup = lookup(key);
+        if (lookup.cached != null) {
+            return CompletableFuture.completedFuture(lookup.cached);
+        }
+        // Callers get a copy so that completing or cancelling it cannot affect the other waiters
+        if (!lookup.leader) {
+            return lookup.flight.copy();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(key, lookup, search);
+                } catch (RuntimeException ex) {
+                    // Already delivered through the flight
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            land(key, lookup.flight);
+            lookup.flight.completeExceptionally(ex);
+            throw ex;
+        }
+        return lookup.flight.copy();
+    }
+
+    // Returns the cached response, or the flight to wait for, or a new flight that the caller has to run
+    private synchronized Lookup lookup(SearchCacheKey key) {
+        if (enabled) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return new Lookup(entry.response, null, false, 0, 0);
+            }
+        }
+        CompletableFuture<RideSearchResultResponseModel> running = inFlight.get(key);
+        if (running != null) {
+            coalesced.increment();
+            return new Lookup(null, running, false, 0, 0);
+        }
+        CompletableFuture<RideSearchResultResponseModel> flight = new CompletableFuture<>();
+        inFlight.put(key, flight);
+        return new Lookup(null, flight, true, generations.getOrDefault(key.getRouteKey(), 0L), epoch);
+    }
+
+    private RideSearchResultResponseModel run(SearchCacheKey key, Lookup lookup,
+                                              Supplier<RideSearchResultResponseModel> search) {
+        if (enabled) {
+            misses.increment();
+        }
+        executions.increment();
+        RideSearchResultResponseModel response;
+        try {
+            response = search.get();
+        } catch (RuntimeException | Error ex) {
+            land(key, lookup.flight);
+            lookup.flight.completeExceptionally(ex);
+            throw ex;
+        }
+        synchronized (this) {
+            land(key, lookup.flight);
+            if (enabled) {
+                put(key, lookup.startedEpoch, lookup.generation, response);
+            }
+        }
+        lookup.flight.complete(response);
+        return response;
+    }
+
+    public synchronized void invalidate(String routeKey) {
+        inFlight.keySet().removeIf(key -> key.getRouteKey().equals(routeKey));
+        if (!enabled) {
+            return;
+        }
+        generations.merge(routeKey, 1L, Long::sum);
+        Set<SearchCacheKey> keys = keysByCorridor.remove(routeKey);
+        if (keys == null) {
+            return;
+        }
+        for (SearchCacheKey key : keys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                weight -= entry.weight;
+                invalidations.increment();
+            }
+        }
+    }
+
+    // Drops everything, e.g. once the route index replaces the database fallback
+    public synchronized void invalidateAll() {
+        inFlight.clear();
+        epoch++;
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByCorridor.clear();
+        weight = 0;
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight.size();
+    }
+
+    // Share of the searches that did not run because an identical one was already in flight
+    public double getCoalesceRatio() {
+        double waiters = coalesced.doubleValue();
+        double total = waiters + executions.doubleValue();
+        return total == 0 ? 0 : waiters / total;
+    }
+
+    // Removes the flight unless an invalidation already detached it (and maybe replaced it)
+    private synchronized void land(SearchCacheKey key, CompletableFuture<RideSearchResultResponseModel> flight) {
+        inFlight.remove(key, flight);
+    }
+
+    private static RideSearchResultResponseModel await(CompletableFuture<RideSearchResultResponseModel> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private synchronized void put(SearchCacheKey key, long startedEpoch, long generation,
+                                  RideSearchResultResponseModel response) {
+        if (epoch != startedEpoch || generations.getOrDefault(key.getRouteKey(), 0L) != generation) {
+            return;
+        }
+
+        long entryWeight = Math.max(1, response.getRides() == null ? 0 : response.getRides().size());
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(response, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        keysByCorridor.computeIfAbsent(key.getRouteKey(), routeKey -> new HashSet<>()).add(key);
+
+        Iterator<Map.Entry<SearchCacheKey, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<SearchCacheKey, Entry> evicted = eldest.next();
+            eldest.remove();
+            weight -= evicted.getValue().weight;
+            Set<SearchCacheKey> corridorKeys = keysByCorridor.get(evicted.getKey().getRouteKey());
+            if (corridorKeys != null && corridorKeys.remove(evicted.getKey()) && corridorKeys.isEmpty()) {
+                keysByCorridor.remove(evicted.getKey().getRouteKey());
+            }
+            evictions.increment();
+        }
+    }
+
+    private static class Lookup {
+        private final RideSearchResultResponseModel cached;
+        private final CompletableFuture<RideSearchResultResponseModel> flight;
+        private final boolean leader;
+        private final long generation;
+        private final long startedEpoch;
+
+        private Lookup(RideSearchResultResponseModel cached, CompletableFuture<RideSearchResultResponseModel> flight,
+                       boolean leader, long generation, long startedEpoch) {
+            this.cached = cached;
+            this.flight = flight;
+            this.leader = leader;
+            this.generation = generation;
+            this.startedEpoch = startedEpoch;
+        }
+    }
+
+    private static class Entry {
+        private final RideSearchResultResponseModel response;
+        private final long weight;
+
+        private Entry(RideSearchResultResponseModel response, long weight) {
+            this.response = response;
+            this.weight = weight;
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package org.buildcode.ride_search_service.controller;
 
-import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.api.constants.ApiConstants;
+import org.buildcode.ride_search_service.api.model.v1_0.BatchRideSearchRequestModel;
+import org.buildcode.ride_search_service.api.model.v1_0.BatchRideSearchResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.LocationSuggestionResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.RideScanRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchResultResponseModel;
 import org.buildcode.ride_search_service.api.resources.RideSearchResource;
-import org.buildcode.ride_search_service.data.entity.Ride;
-import org.buildcode.ride_search_service.repository.RideRepository;
 import org.buildcode.ride_search_service.service.RideSearchService;
+import org.buildcode.ride_search_service.service.RideStreamingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
 
 @Controller
@@ -20,27 +27,51 @@ public class RideSearchController implements RideSearchResource {
     private RideSearchService rideSearchService;
 
     @Autowired
-    RideRepository rideRepository;
+    private RideStreamingService rideStreamingService;
 
     @Override
     public ResponseEntity<RideSearchResultResponseModel> getRides(@RequestBody RideSearchRequestModel searchRequestModel, @RequestParam(defaultValue = "0") int page,
-                                                                  @RequestParam(defaultValue = "3") int size) {
-
-        Ride newRide = new Ride();
-        newRide.setSource("source");
-        newRide.setDestination("destination");
-        newRide.setUserId("userId");
-        newRide.setStatus(RideStatus.CREATED);
-        newRide.setCarModel("carModel");
-        newRide.setSeats(5);
-        newRide.setSource("source");
-        newRide.setSource("source");
-
-        Ride savedRecords = rideRepository.save(newRide);
-
-        System.out.println("before request....");
-        RideSearchResultResponseModel response = rideSearchService.searchRides(searchRequestModel, page, size);
-        System.out.println("Got here.....");
+                                                                  @RequestParam(defaultValue = "3") int size,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "false") boolean includeTotal) {
+        RideSearchResultResponseModel response = cursor != null
+                ? rideSearchService.searchRides(searchRequestModel, cursor, size, includeTotal)
+                : rideSearchService.searchRides(searchRequestModel, page, size);
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public CompletableFuture<RideSearchResultResponseModel> getRidesAsync(@RequestBody RideSearchRequestModel searchRequestModel,
+                                                                        @RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "3") int size) {
+        return rideSearchService.searchRidesAsync(searchRequestModel, page, size);
+    }
+
+    @Override
+    public ResponseEntity<BatchRideSearchResponseModel> getRidesBatch(@RequestBody BatchRideSearchRequestModel batchRequestModel,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "3") int size) {
+        return ResponseEntity.ok(BatchRideSearchResponseModel.builder()
+                .results(rideSearchService.searchRides(batchRequestModel.getSearches(), page, size))
+                .build());
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamRides(@RequestBody RideSearchRequestModel searchRequestModel) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ApiConstants.APPLICATION_NDJSON))
+                .body(rideStreamingService.streamRides(searchRequestModel));
+    }
+
+    @Override
+    public ResponseEntity<LocationSuggestionResponseModel> suggestLocations(@RequestParam String prefix,
+                                                                            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(rideSearchService.suggestLocations(prefix, limit));
+    }
+
+    @Override
+    public ResponseEntity<RideSearchResultResponseModel> scanRides(@RequestBody RideScanRequestModel scanRequestModel,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(rideSearchService.scanRides(scanRequestModel, limit));
+    }
 }
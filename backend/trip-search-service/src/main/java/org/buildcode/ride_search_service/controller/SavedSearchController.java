@@ -0,0 +1,36 @@
+package org.buildcode.ride_search_service.controller;
+
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchListResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchRequestModel;
+import org.buildcode.ride_search_service.api.resources.SavedSearchResource;
+import org.buildcode.ride_search_service.service.SavedSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+public class SavedSearchController implements SavedSearchResource {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Override
+    public ResponseEntity<SavedSearchModel> createSavedSearch(@RequestBody SavedSearchRequestModel savedSearchRequestModel) {
+        return ResponseEntity.ok(savedSearchService.createSavedSearch(savedSearchRequestModel));
+    }
+
+    @Override
+    public ResponseEntity<SavedSearchListResponseModel> getSavedSearches(@RequestParam String riderId) {
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(riderId));
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable String savedSearchId, @RequestParam String riderId) {
+        savedSearchService.deleteSavedSearch(savedSearchId, riderId);
+        return ResponseEntity.noContent().build();
+    }
+}
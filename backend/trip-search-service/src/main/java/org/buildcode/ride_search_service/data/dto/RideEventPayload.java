@@ -0,0 +1,50 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Ride event as published by the trip service on ride-created-event / ride-updated-event.
+ * Created events carry the full ride (id, status), updated events only the changed
+ * fields (rideId, rideStatus), so both spellings are accepted.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RideEventPayload {
+
+    @JsonAlias("rideId")
+    private String id;
+
+    private String ownerId;
+
+    private String source;
+
+    private String destination;
+
+    private Integer seats;
+
+    private Long fare;
+
+    private String vehicleNumber;
+
+    @JsonAlias("rideStatus")
+    private String status;
+
+    private String departureTime;
+
+    private String departureDate;
+
+    private Double sourceLatitude;
+
+    private Double sourceLongitude;
+
+    private Double destinationLatitude;
+
+    private Double destinationLongitude;
+
+    private String route;
+
+    // Orders the changes of a ride; only set on updated events
+    private Long version;
+}
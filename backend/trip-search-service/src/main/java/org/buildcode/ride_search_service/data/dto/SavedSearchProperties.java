@@ -0,0 +1,20 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "search.saved-searches")
+@EnableConfigurationProperties
+@Data
+public class SavedSearchProperties {
+    // Shared by all instances so that every new ride is matched, and notified, exactly once
+    private String groupId = "saved-search-matcher";
+    // How often saved searches created or deleted through other instances are picked up
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    private int maxPerRider = 20;
+}
@@ -0,0 +1,16 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "search.cache")
+@EnableConfigurationProperties
+@Data
+public class SearchCacheProperties {
+    private boolean enabled = true;
+    // Upper bound on the number of rides held across all cached responses, 0 disables the cache
+    private long maxWeight = 100_000;
+}
@@ -0,0 +1,46 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Value;
+import org.buildcode.ride_search_service.index.IndexedRide;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the (departure, id) of the last ride
+ * returned. Clients must treat the encoded value as an opaque string.
+ */
+@Value
+public class SearchCursor {
+
+    long departureAt;
+
+    String rideId;
+
+    public static SearchCursor after(IndexedRide ride) {
+        return new SearchCursor(ride.getDepartureAt(), ride.getId());
+    }
+
+    public boolean hasDeparture() {
+        return departureAt != IndexedRide.UNKNOWN_DEPARTURE;
+    }
+
+    public String encode() {
+        String raw = departureAt + ":" + rideId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return new SearchCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid search cursor", ex);
+        }
+    }
+}
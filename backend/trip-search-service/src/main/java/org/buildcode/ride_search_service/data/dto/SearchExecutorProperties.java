@@ -0,0 +1,17 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "search.executor")
+@EnableConfigurationProperties
+@Data
+public class SearchExecutorProperties {
+    // Threads running the database searches of /search/async, roughly the connection pool size
+    private int threads = 10;
+    // Searches waiting for a thread; beyond that requests are refused with 503
+    private int queueCapacity = 200;
+}
@@ -0,0 +1,22 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "search.partitions")
+@EnableConfigurationProperties
+@Data
+public class SearchPartitionProperties {
+    // A departure day is dropped once it ended more than this long ago
+    private Duration retention = Duration.ofDays(1);
+    private Duration maintenanceInterval = Duration.ofHours(1);
+    // Only once db/search_rides_partitioning.sql has been applied
+    private boolean manageDatabase = false;
+    // Daily partitions kept ready ahead of today
+    private int precreateDays = 14;
+}
@@ -0,0 +1,15 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "search.projection")
+@EnableConfigurationProperties
+@Data
+public class SearchProjectionProperties {
+    // Must be unique per instance so that every instance receives every ride event
+    private String groupId;
+}
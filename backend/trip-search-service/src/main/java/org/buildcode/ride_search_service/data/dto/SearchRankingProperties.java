@@ -0,0 +1,20 @@
+package org.buildcode.ride_search_service.data.dto;
+
+import lombok.Data;
+import org.buildcode.ride_search_service.ranking.RankingWeights;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "search.ranking")
+@EnableConfigurationProperties
+@Data
+public class SearchRankingProperties {
+    // Profile used when a search asks for ranking without naming one
+    private String defaultProfile = "balanced";
+    private Map<String, RankingWeights> profiles = new HashMap<>();
+}
@@ -0,0 +1,37 @@
+package org.buildcode.ride_search_service.data.entity;
+
+import org.buildcode.ride_search_service.index.DepartureWindow;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * UTC departure day that SearchRides is range-partitioned on (see db/search_rides_partitioning.sql).
+ * Queries bound it alongside departureAt so MySQL only opens the partitions a window can touch.
+ * Rides without a departure are kept in the open-ended last partition, which is never dropped.
+ */
+public final class DepartureDay {
+
+    public static final LocalDate UNDATED = LocalDate.of(9999, 12, 31);
+
+    private static final LocalDate FIRST = LocalDate.of(1970, 1, 1);
+
+    private DepartureDay() {
+    }
+
+    public static LocalDate of(Instant departureAt) {
+        return departureAt != null ? LocalDate.ofInstant(departureAt, ZoneOffset.UTC) : UNDATED;
+    }
+
+    public static LocalDate first(DepartureWindow window) {
+        Instant from = window.fromInstant();
+        return from != null ? of(from) : FIRST;
+    }
+
+    // An open window also reaches the undated partition; departureAt bounds exclude undated rides anyway
+    public static LocalDate last(DepartureWindow window) {
+        Instant to = window.toInstant();
+        return to != null ? of(to) : UNDATED;
+    }
+}
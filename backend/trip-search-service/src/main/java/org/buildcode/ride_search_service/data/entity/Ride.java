@@ -4,20 +4,24 @@ package org.buildcode.ride_search_service.data.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.buildcode.ride_search_service.api.constants.RideStatus;
-import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 
 import java.time.Instant;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "SearchRides")
+// Composite indexes serve the corridor search queries in RideRepository: seat filtering and departure ordering.
+// The table is range-partitioned by departureDay once db/search_rides_partitioning.sql has been applied.
+@Table(name = "SearchRides", indexes = {
+        @Index(name = "idx_search_rides_corridor", columnList = "source, destination, status, seats"),
+        @Index(name = "idx_search_rides_corridor_departure", columnList = "source, destination, status, departureAt")
+})
 @Data
 public class Ride {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
     @Column(name = "source", nullable = false)
@@ -35,6 +39,36 @@ public class Ride {
     @Column(name = "carModel", nullable = false)
     private String carModel;
 
+    @Column(name = "departureAt")
+    private Instant departureAt;
+
+    // Partition key, derived from departureAt on every write
+    @Column(name = "departureDay", nullable = false)
+    private LocalDate departureDay;
+
+    @Column(name = "fare")
+    private Long fare;
+
+    @Column(name = "sourceLatitude")
+    private Double sourceLatitude;
+
+    @Column(name = "sourceLongitude")
+    private Double sourceLongitude;
+
+    @Column(name = "destinationLatitude")
+    private Double destinationLatitude;
+
+    @Column(name = "destinationLongitude")
+    private Double destinationLongitude;
+
+    // Encoded polyline of the driver's route
+    @Column(name = "route", columnDefinition = "TEXT")
+    private String route;
+
+    // Version of the last ride change applied to the row, null when it is not known
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private RideStatus status;
@@ -55,10 +89,12 @@ public class Ride {
         if (this.updatedAt == null) {
             updatedAt = Instant.now();
         }
+        departureDay = DepartureDay.of(departureAt);
     }
 
     @PreUpdate
     protected void preUpdate() {
         this.updatedAt = Instant.now();
+        departureDay = DepartureDay.of(departureAt);
     }
 }
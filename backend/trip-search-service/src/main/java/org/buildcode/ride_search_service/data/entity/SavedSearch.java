@@ -0,0 +1,47 @@
+package org.buildcode.ride_search_service.data.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "SavedSearches", indexes = {
+        @Index(name = "idx_saved_searches_rider", columnList = "riderId")
+})
+@Data
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "riderId", nullable = false)
+    private String riderId;
+
+    @Column(name = "source", nullable = false)
+    private String source;
+
+    @Column(name = "destination", nullable = false)
+    private String destination;
+
+    @Column(name = "seats", nullable = false)
+    private Integer seats;
+
+    // Optional departure bounds, inclusive
+    @Column(name = "departureFrom")
+    private Instant departureFrom;
+
+    @Column(name = "departureTo")
+    private Instant departureTo;
+
+    @Column(name = "createdAt", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void prePersist() {
+        if (this.createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
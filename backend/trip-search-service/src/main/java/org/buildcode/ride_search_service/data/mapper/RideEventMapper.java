@@ -0,0 +1,74 @@
+package org.buildcode.ride_search_service.data.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.events.codec.EventReader;
+import org.buildcode.events.codec.MalformedEventException;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class RideEventMapper {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Reads a binary ride-created or ride-updated event of the shared event contract. JSON events, published by
+     * trip services that predate the contract, are still read so that services can be upgraded one at a time.
+     */
+    public RideEventPayload toRideEventPayload(byte[] message) throws IOException {
+        if (!EventReader.isBinary(message)) {
+            return objectMapper.readValue(message, RideEventPayload.class);
+        }
+        int schemaId = new EventReader(message).schemaId();
+        if (schemaId == EventCodecs.RIDE_CREATED.schema().getId()) {
+            return toRideEventPayload(EventCodecs.RIDE_CREATED.decode(message));
+        }
+        if (schemaId == EventCodecs.RIDE_UPDATED.schema().getId()) {
+            return toRideEventPayload(EventCodecs.RIDE_UPDATED.decode(message));
+        }
+        throw new MalformedEventException("Not a ride event: schema " + schemaId);
+    }
+
+    private RideEventPayload toRideEventPayload(RideCreatedEvent event) {
+        RideEventPayload payload = new RideEventPayload();
+        payload.setId(event.getId());
+        payload.setOwnerId(event.getOwnerId());
+        payload.setSource(event.getSource());
+        payload.setDestination(event.getDestination());
+        payload.setSeats(event.getSeats() != null ? Math.toIntExact(event.getSeats()) : null);
+        payload.setFare(event.getFare());
+        payload.setVehicleNumber(event.getVehicleNumber());
+        payload.setStatus(event.getStatus());
+        payload.setDepartureTime(event.getDepartureTime());
+        payload.setDepartureDate(event.getDepartureDate());
+        payload.setSourceLatitude(event.getSourceLatitude());
+        payload.setSourceLongitude(event.getSourceLongitude());
+        payload.setDestinationLatitude(event.getDestinationLatitude());
+        payload.setDestinationLongitude(event.getDestinationLongitude());
+        payload.setRoute(event.getRoute());
+        return payload;
+    }
+
+    private RideEventPayload toRideEventPayload(RideUpdatedEvent event) {
+        RideEventPayload payload = new RideEventPayload();
+        payload.setId(event.getRideId());
+        payload.setOwnerId(event.getOwnerId());
+        payload.setSource(event.getSource());
+        payload.setDestination(event.getDestination());
+        payload.setSeats(event.getSeats() != null ? Math.toIntExact(event.getSeats()) : null);
+        payload.setFare(event.getFare());
+        payload.setVehicleNumber(event.getVehicleNumber());
+        payload.setStatus(event.getStatus());
+        payload.setDepartureTime(event.getDepartureTime());
+        payload.setDepartureDate(event.getDepartureDate());
+        payload.setVersion(event.getVersion());
+        return payload;
+    }
+}
@@ -0,0 +1,265 @@
+package org.buildcode.ride_search_service.data.mapper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.model.v1_0.FacetBucketModel;
+import org.buildcode.ride_search_service.api.model.v1_0.RideDetails;
+import org.buildcode.ride_search_service.api.model.v1_0.SearchFacetsModel;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.data.projection.RideProjection;
+import org.buildcode.ride_search_service.index.EnRouteRide;
+import org.buildcode.ride_search_service.index.FacetCounts;
+import org.buildcode.ride_search_service.index.IndexedRide;
+import org.buildcode.ride_search_service.index.NearbyRide;
+import org.buildcode.ride_search_service.index.Polyline;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@Slf4j
+public class RideMapper {
+
+    // Formats produced by the trip service create-ride form ("23/10/25", "9:53AM")
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("dd/MM/yy"),
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ISO_LOCAL_DATE
+    );
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mma").toFormatter(Locale.ENGLISH),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mm a").toFormatter(Locale.ENGLISH),
+            DateTimeFormatter.ISO_LOCAL_TIME
+    );
+
+    public IndexedRide toIndexedRide(Ride ride) {
+        return IndexedRide.builder()
+                .id(ride.getId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .ownerId(ride.getUserId())
+                .seats(ride.getSeats() != null ? ride.getSeats() : 0)
+                .carModel(ride.getCarModel())
+                .departureAt(toEpochMillis(ride.getDepartureAt()))
+                .fare(ride.getFare() != null ? ride.getFare() : 0)
+                .sourceLatitude(toCoordinate(ride.getSourceLatitude()))
+                .sourceLongitude(toCoordinate(ride.getSourceLongitude()))
+                .destinationLatitude(toCoordinate(ride.getDestinationLatitude()))
+                .destinationLongitude(toCoordinate(ride.getDestinationLongitude()))
+                .route(toRoute(ride.getId(), ride.getRoute()))
+                .version(ride.getVersion() != null ? ride.getVersion() : 0)
+                .build();
+    }
+
+    public IndexedRide toIndexedRide(RideProjection ride) {
+        return IndexedRide.builder()
+                .id(ride.getId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .ownerId(ride.getUserId())
+                .seats(ride.getSeats() != null ? ride.getSeats() : 0)
+                .departureAt(toEpochMillis(ride.getDepartureAt()))
+                .fare(ride.getFare() != null ? ride.getFare() : 0)
+                .sourceLatitude(toCoordinate(ride.getSourceLatitude()))
+                .sourceLongitude(toCoordinate(ride.getSourceLongitude()))
+                .destinationLatitude(toCoordinate(ride.getDestinationLatitude()))
+                .destinationLongitude(toCoordinate(ride.getDestinationLongitude()))
+                .build();
+    }
+
+    public IndexedRide toIndexedRide(RideEventPayload payload) {
+        return IndexedRide.builder()
+                .id(payload.getId())
+                .source(payload.getSource())
+                .destination(payload.getDestination())
+                .ownerId(payload.getOwnerId())
+                .seats(payload.getSeats() != null ? payload.getSeats() : 0)
+                .carModel(payload.getVehicleNumber())
+                .departureAt(toEpochMillis(toDepartureAt(payload.getDepartureDate(), payload.getDepartureTime())))
+                .fare(payload.getFare() != null ? payload.getFare() : 0)
+                .sourceLatitude(toCoordinate(payload.getSourceLatitude()))
+                .sourceLongitude(toCoordinate(payload.getSourceLongitude()))
+                .destinationLatitude(toCoordinate(payload.getDestinationLatitude()))
+                .destinationLongitude(toCoordinate(payload.getDestinationLongitude()))
+                .route(toRoute(payload.getId(), payload.getRoute()))
+                .version(payload.getVersion() != null ? payload.getVersion() : 0)
+                .build();
+    }
+
+    // Ride updated events are partial; only the fields present on the event replace the indexed values
+    public IndexedRide merge(IndexedRide existing, RideEventPayload payload) {
+        IndexedRide.IndexedRideBuilder builder = existing.toBuilder();
+        if (payload.getSource() != null) {
+            builder.source(payload.getSource());
+        }
+        if (payload.getDestination() != null) {
+            builder.destination(payload.getDestination());
+        }
+        if (payload.getOwnerId() != null) {
+            builder.ownerId(payload.getOwnerId());
+        }
+        if (payload.getSeats() != null) {
+            builder.seats(payload.getSeats());
+        }
+        if (payload.getVehicleNumber() != null) {
+            builder.carModel(payload.getVehicleNumber());
+        }
+        if (payload.getFare() != null) {
+            builder.fare(payload.getFare());
+        }
+        Instant departureAt = toDepartureAt(payload.getDepartureDate(), payload.getDepartureTime());
+        if (departureAt != null) {
+            builder.departureAt(departureAt.toEpochMilli());
+        }
+        if (payload.getSourceLatitude() != null && payload.getSourceLongitude() != null) {
+            builder.sourceLatitude(payload.getSourceLatitude()).sourceLongitude(payload.getSourceLongitude());
+        }
+        if (payload.getDestinationLatitude() != null && payload.getDestinationLongitude() != null) {
+            builder.destinationLatitude(payload.getDestinationLatitude())
+                    .destinationLongitude(payload.getDestinationLongitude());
+        }
+        if (payload.getRoute() != null) {
+            builder.route(toRoute(payload.getId(), payload.getRoute()));
+        }
+        if (payload.getVersion() != null) {
+            builder.version(payload.getVersion());
+        }
+        return builder.build();
+    }
+
+    public RideDetails toRideDetails(RideProjection ride) {
+        return RideDetails.builder()
+                .rideId(ride.getId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .ownerId(ride.getUserId())
+                .availableSeats(ride.getSeats())
+                .fare(ride.getFare())
+                .departureTime(ride.getDepartureAt() != null
+                        ? LocalDateTime.ofInstant(ride.getDepartureAt(), ZoneId.systemDefault())
+                        : null)
+                .build();
+    }
+
+    public RideDetails toRideDetails(IndexedRide ride) {
+        return RideDetails.builder()
+                .rideId(ride.getId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .ownerId(ride.getOwnerId())
+                .availableSeats(ride.getSeats())
+                .fare(ride.getFare() > 0 ? ride.getFare() : null)
+                .departureTime(ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(ride.getDepartureAt()), ZoneId.systemDefault())
+                        : null)
+                .build();
+    }
+
+    // Buckets without rides are left out
+    public SearchFacetsModel toSearchFacets(FacetCounts facets) {
+        List<FacetBucketModel> seats = new ArrayList<>();
+        for (int i = 0; i < facets.getSeats().length; i++) {
+            boolean last = i == facets.getSeats().length - 1;
+            addBucket(seats, (i + 1) + (last ? "+" : ""), facets.getSeats()[i]);
+        }
+
+        List<FacetBucketModel> carModels = new ArrayList<>();
+        facets.getCarModels().forEach((model, count) -> addBucket(carModels, model, count[0]));
+        carModels.sort(Comparator.comparing(FacetBucketModel::getCount).reversed()
+                .thenComparing(FacetBucketModel::getValue));
+
+        List<FacetBucketModel> departureHours = new ArrayList<>();
+        for (int hour = 0; hour < facets.getDepartureHours().length; hour++) {
+            addBucket(departureHours, String.valueOf(hour), facets.getDepartureHours()[hour]);
+        }
+
+        List<FacetBucketModel> fareBands = new ArrayList<>();
+        long[] limits = FacetCounts.FARE_BAND_LIMITS;
+        for (int band = 0; band < facets.getFareBands().length; band++) {
+            String value = band < limits.length
+                    ? (band == 0 ? 0 : limits[band - 1]) + "-" + limits[band]
+                    : limits[limits.length - 1] + "+";
+            addBucket(fareBands, value, facets.getFareBands()[band]);
+        }
+
+        return SearchFacetsModel.builder()
+                .seats(seats)
+                .carModels(carModels)
+                .departureHours(departureHours)
+                .fareBands(fareBands)
+                .build();
+    }
+
+    public Instant toDepartureAt(String departureDate, String departureTime) {
+        LocalDate date = parse(departureDate, DATE_FORMATS, LocalDate::from);
+        if (date == null) {
+            return null;
+        }
+        LocalTime time = parse(departureTime, TIME_FORMATS, LocalTime::from);
+        return date.atTime(time != null ? time : LocalTime.MIDNIGHT).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    public RideDetails toRideDetails(NearbyRide nearbyRide) {
+        RideDetails rideDetails = toRideDetails(nearbyRide.getRide());
+        rideDetails.setPickupDistanceMeters((int) Math.round(nearbyRide.getPickupDistance()));
+        rideDetails.setDropOffDistanceMeters((int) Math.round(nearbyRide.getDropOffDistance()));
+        return rideDetails;
+    }
+
+    public RideDetails toRideDetails(EnRouteRide enRouteRide) {
+        RideDetails rideDetails = toRideDetails(enRouteRide.getRide());
+        rideDetails.setDetourMeters((int) Math.round(enRouteRide.getDetourMeters()));
+        return rideDetails;
+    }
+
+    // A malformed route only disables en-route matching for the ride, it does not drop the ride
+    private static double[] toRoute(String rideId, String encodedRoute) {
+        try {
+            return Polyline.decode(encodedRoute);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed route of ride {}: {}", rideId, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void addBucket(List<FacetBucketModel> buckets, String value, int count) {
+        if (count > 0) {
+            buckets.add(new FacetBucketModel(value, count));
+        }
+    }
+
+    private static double toCoordinate(Double coordinate) {
+        return coordinate != null ? coordinate : Double.NaN;
+    }
+
+    private static long toEpochMillis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : IndexedRide.UNKNOWN_DEPARTURE;
+    }
+
+    private static <T> T parse(String value, List<DateTimeFormatter> formats, TemporalQuery<T> query) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (DateTimeFormatter format : formats) {
+            try {
+                return format.parse(value.trim(), query);
+            } catch (DateTimeParseException ignored) {
+                // try the next accepted format
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package org.buildcode.ride_search_service.data.mapper;
+
+import org.buildcode.events.NotificationEvent;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchRequestModel;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.entity.SavedSearch;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.buildcode.ride_search_service.index.StandingQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Component
+public class SavedSearchMapper {
+
+    // Tells the notification service that a new ride matches a saved search
+    public static final String MATCH_RIDER_STATUS = "SAVED_SEARCH_MATCHED";
+
+    public SavedSearch toSavedSearch(SavedSearchRequestModel requestModel) {
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setRiderId(requestModel.getRiderId());
+        savedSearch.setSource(requestModel.getSource().trim());
+        savedSearch.setDestination(requestModel.getDestination().trim());
+        savedSearch.setSeats(requestModel.getSeats() != null ? requestModel.getSeats() : 1);
+        savedSearch.setDepartureFrom(toInstant(requestModel.getDepartureFrom()));
+        savedSearch.setDepartureTo(toInstant(requestModel.getDepartureTo()));
+        return savedSearch;
+    }
+
+    public StandingQuery toStandingQuery(SavedSearch savedSearch) {
+        return new StandingQuery(
+                savedSearch.getId(),
+                savedSearch.getRiderId(),
+                savedSearch.getSource(),
+                savedSearch.getDestination(),
+                savedSearch.getSeats(),
+                DepartureWindow.of(savedSearch.getDepartureFrom(), savedSearch.getDepartureTo()));
+    }
+
+    public SavedSearchModel toSavedSearchModel(SavedSearch savedSearch) {
+        return SavedSearchModel.builder()
+                .savedSearchId(savedSearch.getId())
+                .riderId(savedSearch.getRiderId())
+                .source(savedSearch.getSource())
+                .destination(savedSearch.getDestination())
+                .seats(savedSearch.getSeats())
+                .departureFrom(toLocalDateTime(savedSearch.getDepartureFrom()))
+                .departureTo(toLocalDateTime(savedSearch.getDepartureTo()))
+                .build();
+    }
+
+    // Published on send-notification-event; carries the ride fields of the trip service notifications
+    public NotificationEvent toMatchEvent(StandingQuery query, RideEventPayload ride) {
+        return NotificationEvent.builder()
+                .riderId(query.getRiderId())
+                .ownerId(ride.getOwnerId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .fare(ride.getFare())
+                .vehicleNumber(ride.getVehicleNumber())
+                .riderStatus(MATCH_RIDER_STATUS)
+                .rideId(ride.getId())
+                .savedSearchId(query.getId())
+                .departureDate(ride.getDepartureDate())
+                .departureTime(ride.getDepartureTime())
+                .build();
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
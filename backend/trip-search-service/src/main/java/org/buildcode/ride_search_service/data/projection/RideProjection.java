@@ -1,9 +1,19 @@
 // src/main/java/org/buildcode/rideservice/data/projection/RideProjection.java
 package org.buildcode.ride_search_service.data.projection;
 
+import java.time.Instant;
+
+// Columns the search path reads, selected by alias so results are plain tuples rather than managed entities
 public interface RideProjection {
+    String getId();
     String getSource();
     String getDestination();
     String getUserId();
     Integer getSeats();
+    Instant getDepartureAt();
+    Long getFare();
+    Double getSourceLatitude();
+    Double getSourceLongitude();
+    Double getDestinationLatitude();
+    Double getDestinationLongitude();
 }
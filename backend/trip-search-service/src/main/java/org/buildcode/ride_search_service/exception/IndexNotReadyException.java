@@ -0,0 +1,9 @@
+package org.buildcode.ride_search_service.exception;
+
+// The request can only be answered from the in-memory route index, which is still loading
+public class IndexNotReadyException extends RuntimeException {
+
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
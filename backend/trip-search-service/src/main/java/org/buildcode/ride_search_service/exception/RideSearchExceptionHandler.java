@@ -0,0 +1,63 @@
+package org.buildcode.ride_search_service.exception;
+
+import org.buildcode.ride_search_service.api.constants.ApiConstants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+@ControllerAdvice
+public class RideSearchExceptionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ApiConstants.BAD_REQUEST,
+                ApiConstants.MESSAGE_BAD_REQUEST,
+                exception.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Only thrown while the route index loads at startup, so the request will succeed shortly
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleIndexNotReadyException(IndexNotReadyException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ApiConstants.SERVICE_UNAVAILABLE,
+                ApiConstants.MESSAGE_SERVICE_UNAVAILABLE,
+                exception.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(errorResponse);
+    }
+
+    // The search pool is saturated; the search itself was never run, so it is safe to retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ApiConstants.SERVICE_UNAVAILABLE,
+                ApiConstants.MESSAGE_SERVICE_UNAVAILABLE,
+                "Too many searches in progress, retry shortly"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ErrorResponse> handleNoSuchElementException(NoSuchElementException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ApiConstants.NOT_FOUND,
+                ApiConstants.MESSAGE_NOT_FOUND,
+                exception.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,30 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Filter for a {@link ColumnarRideSnapshot} scan. Sources and destinations are matched as prefixes of the
+ * normalized location names, so "koramangala" covers every location in that district; empty means any.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ColumnScan {
+
+    @Builder.Default
+    List<String> sources = List.of();
+
+    @Builder.Default
+    List<String> destinations = List.of();
+
+    @Builder.Default
+    DepartureWindow window = DepartureWindow.ANY;
+
+    @Builder.Default
+    int minSeats = 1;
+
+    // 0 for any fare; rides without a known fare never match a bounded fare
+    long maxFare;
+}
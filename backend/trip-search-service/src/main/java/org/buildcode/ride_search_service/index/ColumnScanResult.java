@@ -0,0 +1,15 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ColumnScanResult {
+
+    // Every ride matching the scan
+    long matched;
+
+    // Ids of the earliest departing matches, up to the requested limit
+    List<String> rideIds;
+}
@@ -0,0 +1,267 @@
+package org.buildcode.ride_search_service.index;
+
+import org.buildcode.ride_search_service.ranking.TopK;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the searchable rides for scans that are not tied to one corridor, such as every
+ * ride leaving a district this weekend. Locations are dictionary-encoded to int ids and each attribute lives
+ * in its own direct buffer outside the heap, one row per ride, so a scan reads one tightly packed column per
+ * predicate and narrows a bitmap of candidate rows as it goes.
+ * <p>
+ * Rows of removed rides are reused by later rides; the location dictionary only grows. Writes hold the write
+ * lock, scans the read lock, so a scan never sees a half-written row.
+ */
+@Component
+public class ColumnarRideSnapshot {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> locationIds = new HashMap<>();
+
+    private final List<String> locationNames = new ArrayList<>();
+
+    private final Map<String, Integer> rowsByRideId = new HashMap<>();
+
+    private String[] rideIds = new String[INITIAL_CAPACITY];
+
+    // One bit per row that holds a ride
+    private long[] live = new long[words(INITIAL_CAPACITY)];
+
+    private int[] freeRows = new int[16];
+
+    private int freeCount;
+
+    // Rows ever handed out; rows at or above it have never held a ride
+    private int rowCount;
+
+    private IntBuffer sources = allocateInts(INITIAL_CAPACITY);
+
+    private IntBuffer destinations = allocateInts(INITIAL_CAPACITY);
+
+    private IntBuffer seats = allocateInts(INITIAL_CAPACITY);
+
+    private LongBuffer departures = allocateLongs(INITIAL_CAPACITY);
+
+    private LongBuffer fares = allocateLongs(INITIAL_CAPACITY);
+
+    // Overwrites the ride's row in place, or takes a free row for a new ride
+    public void upsert(IndexedRide ride) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsByRideId.get(ride.getId());
+            int row = existing != null ? existing : allocateRow(ride.getId());
+            sources.put(row, locationId(ride.getSource()));
+            destinations.put(row, locationId(ride.getDestination()));
+            seats.put(row, ride.getSeats());
+            departures.put(row, ride.getDepartureAt());
+            fares.put(row, ride.getFare());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String rideId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsByRideId.remove(rideId);
+            if (row == null) {
+                return;
+            }
+            live[row >>> 6] &= ~(1L << row);
+            rideIds[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsByRideId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the rides matching {@code scan} and returns the ids of the {@code limit} earliest departing ones.
+     * Each predicate is a pass over a single column that only visits rows the previous passes kept.
+     */
+    public ColumnScanResult scan(ColumnScan scan, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] candidates = Arrays.copyOf(live, words(rowCount));
+            if (!scan.getSources().isEmpty()) {
+                keepLocations(candidates, sources, locationMask(scan.getSources()));
+            }
+            if (!scan.getDestinations().isEmpty()) {
+                keepLocations(candidates, destinations, locationMask(scan.getDestinations()));
+            }
+            if (scan.getWindow().isBounded()) {
+                keepDepartures(candidates, scan.getWindow());
+            }
+            if (scan.getMinSeats() > 1) {
+                keepSeats(candidates, scan.getMinSeats());
+            }
+            if (scan.getMaxFare() > 0) {
+                keepFares(candidates, scan.getMaxFare());
+            }
+            return collect(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void keepLocations(long[] candidates, IntBuffer column, boolean[] wanted) {
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!wanted[column.get((word << 6) + bit)]) {
+                    candidates[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private void keepDepartures(long[] candidates, DepartureWindow window) {
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!window.contains(departures.get((word << 6) + bit))) {
+                    candidates[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private void keepSeats(long[] candidates, int minSeats) {
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (seats.get((word << 6) + bit) < minSeats) {
+                    candidates[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private void keepFares(long[] candidates, long maxFare) {
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long fare = fares.get((word << 6) + bit);
+                if (fare <= 0 || fare > maxFare) {
+                    candidates[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    // Departure is the last column read, and only for the rows that survived every predicate
+    private ColumnScanResult collect(long[] candidates, int limit) {
+        long matched = 0;
+        TopK<String> earliest = new TopK<>(limit);
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            matched += Long.bitCount(bits);
+            while (bits != 0 && limit > 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                earliest.offer(rideIds[row], departures.get(row));
+            }
+        }
+        return new ColumnScanResult(matched, earliest.drainSorted());
+    }
+
+    // Dictionary ids whose name starts with one of the prefixes; the dictionary is small next to the rows
+    private boolean[] locationMask(List<String> prefixes) {
+        boolean[] mask = new boolean[locationNames.size()];
+        for (String prefix : prefixes) {
+            String normalized = LocationNormalizer.normalize(prefix);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            for (int id = 0; id < mask.length; id++) {
+                if (!mask[id] && locationNames.get(id).startsWith(normalized)) {
+                    mask[id] = true;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private int locationId(String location) {
+        String normalized = LocationNormalizer.normalize(location);
+        Integer id = locationIds.get(normalized);
+        if (id == null) {
+            id = locationNames.size();
+            locationIds.put(normalized, id);
+            locationNames.add(normalized);
+        }
+        return id;
+    }
+
+    private int allocateRow(String rideId) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rowCount == rideIds.length) {
+                grow(rowCount * 2);
+            }
+            row = rowCount++;
+        }
+        rowsByRideId.put(rideId, row);
+        rideIds[row] = rideId;
+        live[row >>> 6] |= 1L << row;
+        return row;
+    }
+
+    private void grow(int capacity) {
+        rideIds = Arrays.copyOf(rideIds, capacity);
+        live = Arrays.copyOf(live, words(capacity));
+        sources = allocateInts(capacity).put(0, sources, 0, rowCount);
+        destinations = allocateInts(capacity).put(0, destinations, 0, rowCount);
+        seats = allocateInts(capacity).put(0, seats, 0, rowCount);
+        departures = allocateLongs(capacity).put(0, departures, 0, rowCount);
+        fares = allocateLongs(capacity).put(0, fares, 0, rowCount);
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static IntBuffer allocateInts(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static LongBuffer allocateLongs(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+}
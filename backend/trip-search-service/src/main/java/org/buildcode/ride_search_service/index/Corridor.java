@@ -0,0 +1,59 @@
+package org.buildcode.ride_search_service.index;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Rides of one (source, destination) pair, bucketed by departure. Buckets and the rides inside them are
+ * both sorted, so walking the buckets in order yields rides by (departure, id), and a departure window
+ * only visits the buckets it overlaps. Rides with an unknown departure share the last bucket.
+ * Writes are expected to be serialized by the owner.
+ */
+class Corridor {
+
+    static final long BUCKET_MILLIS = Duration.ofMinutes(15).toMillis();
+
+    static final Comparator<IndexedRide> DEPARTURE_ORDER = Comparator
+            .comparingLong(IndexedRide::getDepartureAt)
+            .thenComparing(IndexedRide::getId);
+
+    private final ConcurrentSkipListMap<Long, NavigableSet<IndexedRide>> buckets = new ConcurrentSkipListMap<>();
+
+    void add(IndexedRide ride) {
+        buckets.compute(bucketOf(ride.getDepartureAt()), (key, bucket) -> {
+            NavigableSet<IndexedRide> rides = bucket != null ? bucket : new ConcurrentSkipListSet<>(DEPARTURE_ORDER);
+            rides.add(ride);
+            return rides;
+        });
+    }
+
+    void remove(IndexedRide ride) {
+        buckets.computeIfPresent(bucketOf(ride.getDepartureAt()), (key, bucket) -> {
+            bucket.remove(ride);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    // Rides departing within the window and strictly after {@code after} (when set), in departure order
+    Stream<IndexedRide> rides(DepartureWindow window, IndexedRide after) {
+        long start = after != null ? Math.max(window.getFrom(), after.getDepartureAt()) : window.getFrom();
+        if (start > window.getTo()) {
+            return Stream.empty();
+        }
+        return buckets.subMap(bucketOf(start), true, bucketOf(window.getTo()), true).values().stream()
+                .flatMap(bucket -> (after != null ? bucket.tailSet(after, false) : bucket).stream())
+                .filter(ride -> window.contains(ride.getDepartureAt()));
+    }
+
+    private static long bucketOf(long departureAt) {
+        return Math.floorDiv(departureAt, BUCKET_MILLIS);
+    }
+}
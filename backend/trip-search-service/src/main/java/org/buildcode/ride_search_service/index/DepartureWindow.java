@@ -0,0 +1,48 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Inclusive departure range in epoch milliseconds. A window with either bound set never matches rides
+ * whose departure is unknown.
+ */
+@Value
+public class DepartureWindow {
+
+    public static final DepartureWindow ANY = new DepartureWindow(Long.MIN_VALUE, IndexedRide.UNKNOWN_DEPARTURE);
+
+    long from;
+
+    long to;
+
+    public static DepartureWindow of(Instant from, Instant to) {
+        if (from == null && to == null) {
+            return ANY;
+        }
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : IndexedRide.UNKNOWN_DEPARTURE - 1;
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("Departure window must not end before it starts");
+        }
+        return new DepartureWindow(fromMillis, toMillis);
+    }
+
+    public boolean contains(long departureAt) {
+        return departureAt >= from && departureAt <= to;
+    }
+
+    public boolean isBounded() {
+        return !equals(ANY);
+    }
+
+    // Bounds for database queries, null when open
+    public Instant fromInstant() {
+        return from != Long.MIN_VALUE ? Instant.ofEpochMilli(from) : null;
+    }
+
+    public Instant toInstant() {
+        return to < IndexedRide.UNKNOWN_DEPARTURE - 1 ? Instant.ofEpochMilli(to) : null;
+    }
+}
@@ -0,0 +1,77 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.List;
+
+/**
+ * Detour cost of serving a rider on a driver's route. The driver is assumed to leave the route at the closest
+ * point, fetch the rider and come back, so each stop costs twice its distance from the route. The pickup must
+ * come before the drop-off along the route.
+ */
+final class DetourEvaluator {
+
+    private static final double METERS_PER_DEGREE = 1 / GeoCell.latitudeDelta(1);
+
+    private DetourEvaluator() {
+    }
+
+    @FunctionalInterface
+    interface HitConsumer {
+        void accept(String rideId, Hit hit);
+    }
+
+    static final class Hit {
+        final int segment;
+        // Position of the closest point along the segment, 0 at its start and 1 at its end
+        final double position;
+        final double offsetMeters;
+
+        Hit(int segment, double position, double offsetMeters) {
+            this.segment = segment;
+            this.position = position;
+            this.offsetMeters = offsetMeters;
+        }
+
+        boolean isBefore(Hit other) {
+            return segment < other.segment || (segment == other.segment && position <= other.position);
+        }
+    }
+
+    // Cheapest detour over all pickup/drop-off hit pairs in route order, or NaN when there is none
+    static double cheapestDetour(List<Hit> pickups, List<Hit> dropOffs) {
+        double cheapest = Double.NaN;
+        for (Hit pickup : pickups) {
+            for (Hit dropOff : dropOffs) {
+                if (!pickup.isBefore(dropOff)) {
+                    continue;
+                }
+                double detour = 2 * (pickup.offsetMeters + dropOff.offsetMeters);
+                if (Double.isNaN(cheapest) || detour < cheapest) {
+                    cheapest = detour;
+                }
+            }
+        }
+        return cheapest;
+    }
+
+    // Projects the point onto the segment in a local equirectangular frame (accurate at route-piece scale)
+    static void project(RouteSegment segment, double latitude, double longitude, double maxOffsetMeters,
+                        HitConsumer consumer) {
+        double scale = Math.cos(Math.toRadians(latitude));
+        double ax = (segment.getFromLongitude() - longitude) * scale;
+        double ay = segment.getFromLatitude() - latitude;
+        double bx = (segment.getToLongitude() - longitude) * scale;
+        double by = segment.getToLatitude() - latitude;
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double position = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSquared));
+
+        double cx = ax + position * dx;
+        double cy = ay + position * dy;
+        double offsetMeters = Math.sqrt(cx * cx + cy * cy) * METERS_PER_DEGREE;
+        if (offsetMeters <= maxOffsetMeters) {
+            consumer.accept(segment.getRideId(), new Hit(segment.getIndex(), position, offsetMeters));
+        }
+    }
+}
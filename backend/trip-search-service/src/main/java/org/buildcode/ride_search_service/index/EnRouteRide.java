@@ -0,0 +1,11 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+@Value
+public class EnRouteRide {
+
+    IndexedRide ride;
+
+    double detourMeters;
+}
@@ -0,0 +1,75 @@
+package org.buildcode.ride_search_service.index;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Filter counts over the rides of one search, accumulated while the search walks its candidates:
+ * remaining seats (1, 2, 3+), car model, local departure hour and fare band. Rides with an unknown
+ * car model, departure or fare are left out of that facet only.
+ */
+public final class FacetCounts {
+
+    // Upper bounds (exclusive) of every fare band but the last, in the fare's currency unit
+    public static final long[] FARE_BAND_LIMITS = {100, 250, 500};
+
+    public static final int SEAT_BUCKETS = 3;
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+
+    private static final ZoneRules ZONE_RULES = ZoneId.systemDefault().getRules();
+
+    private final int[] seats = new int[SEAT_BUCKETS];
+
+    private final Map<String, int[]> carModels = new HashMap<>();
+
+    private final int[] departureHours = new int[24];
+
+    private final int[] fareBands = new int[FARE_BAND_LIMITS.length + 1];
+
+    public void add(IndexedRide ride) {
+        seats[Math.max(1, Math.min(ride.getSeats(), SEAT_BUCKETS)) - 1]++;
+        if (ride.getCarModel() != null) {
+            carModels.computeIfAbsent(ride.getCarModel(), model -> new int[1])[0]++;
+        }
+        if (ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE) {
+            departureHours[hour(ride.getDepartureAt())]++;
+        }
+        if (ride.getFare() > 0) {
+            fareBands[fareBand(ride.getFare())]++;
+        }
+    }
+
+    // Counts rides with 1, 2 and 3 or more remaining seats
+    public int[] getSeats() {
+        return seats;
+    }
+
+    public Map<String, int[]> getCarModels() {
+        return carModels;
+    }
+
+    public int[] getDepartureHours() {
+        return departureHours;
+    }
+
+    public int[] getFareBands() {
+        return fareBands;
+    }
+
+    private static int hour(long epochMillis) {
+        long offsetMillis = ZONE_RULES.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+        return (int) (Math.floorMod(epochMillis + offsetMillis, 24 * HOUR_MILLIS) / HOUR_MILLIS);
+    }
+
+    private static int fareBand(long fare) {
+        int band = 0;
+        while (band < FARE_BAND_LIMITS.length && fare >= FARE_BAND_LIMITS[band]) {
+            band++;
+        }
+        return band;
+    }
+}
@@ -0,0 +1,135 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical lat/lng grid. A cell at level {@code L} splits both axes into {@code 2^L} slices and is
+ * identified by the Z-order interleaving of its column and row, so the leaf cells ({@link #MAX_LEVEL})
+ * of any coarser cell form one contiguous id range. That lets a sorted map of leaf cells be queried
+ * at whatever level suits the search radius.
+ */
+public final class GeoCell {
+
+    // ~2.4 m x 1.2 m cells at the equator
+    public static final int MAX_LEVEL = 24;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private GeoCell() {
+    }
+
+    public static long leafCell(double latitude, double longitude) {
+        return interleave(column(longitude, MAX_LEVEL), row(latitude, MAX_LEVEL));
+    }
+
+    public static long cell(double latitude, double longitude, int level) {
+        return interleave(column(longitude, level), row(latitude, level));
+    }
+
+    /**
+     * Leaf cell ranges {@code [from, to)} covering a circle. The level is the finest one whose cells are
+     * at least {@code radiusMeters} on each side, so the 3x3 block around the center cell contains the circle.
+     */
+    public static List<long[]> covering(double latitude, double longitude, double radiusMeters) {
+        int level = levelFor(latitude, radiusMeters);
+        int shift = 2 * (MAX_LEVEL - level);
+
+        List<long[]> ranges = new ArrayList<>(9);
+        for (long cell : neighbourhood(latitude, longitude, level)) {
+            ranges.add(new long[]{cell << shift, (cell + 1) << shift});
+        }
+        return ranges;
+    }
+
+    // The cell containing the point at the given level and its (up to) eight neighbours
+    public static List<Long> neighbourhood(double latitude, double longitude, int level) {
+        long cells = 1L << level;
+        long column = column(longitude, level);
+        long row = row(latitude, level);
+
+        // Longitude wraps around the antimeridian; with fewer than three columns every column is a neighbour
+        long[] columns = cells < 3
+                ? (cells == 1 ? new long[]{0} : new long[]{0, 1})
+                : new long[]{Math.floorMod(column - 1, cells), column, Math.floorMod(column + 1, cells)};
+
+        List<Long> neighbourhood = new ArrayList<>(9);
+        for (long r = Math.max(0, row - 1); r <= Math.min(cells - 1, row + 1); r++) {
+            for (long c : columns) {
+                neighbourhood.add(interleave(c, r));
+            }
+        }
+        return neighbourhood;
+    }
+
+    // Cells at the given level overlapping a box, meant for boxes spanning only a few cells
+    public static List<Long> cellsInBox(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude, int level) {
+        List<Long> cells = new ArrayList<>(4);
+        for (long r = row(minLatitude, level); r <= row(maxLatitude, level); r++) {
+            for (long c = column(minLongitude, level); c <= column(maxLongitude, level); c++) {
+                cells.add(interleave(c, r));
+            }
+        }
+        return cells;
+    }
+
+    public static double cellHeightMeters(int level) {
+        return 180.0 / (1L << level) * METERS_PER_DEGREE;
+    }
+
+    public static double distanceMeters(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double dLat = Math.toRadians(toLatitude - fromLatitude);
+        double dLng = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static double latitudeDelta(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+
+    public static double longitudeDelta(double latitude, double meters) {
+        double cos = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        return Math.min(180, meters / (METERS_PER_DEGREE * cos));
+    }
+
+    static int levelFor(double latitude, double radiusMeters) {
+        double cos = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        for (int level = MAX_LEVEL; level > 0; level--) {
+            double cellHeight = cellHeightMeters(level);
+            double cellWidth = 2 * cellHeight * cos;
+            if (cellHeight >= radiusMeters && cellWidth >= radiusMeters) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    private static long column(double longitude, int level) {
+        return quantize((longitude + 180) / 360, level);
+    }
+
+    private static long row(double latitude, int level) {
+        return quantize((latitude + 90) / 180, level);
+    }
+
+    private static long quantize(double fraction, int level) {
+        long cells = 1L << level;
+        long slice = (long) Math.floor(fraction * cells);
+        return Math.min(Math.max(slice, 0), cells - 1);
+    }
+
+    private static long interleave(long column, long row) {
+        long cell = 0;
+        for (int bit = 0; bit < MAX_LEVEL; bit++) {
+            cell |= ((column >>> bit) & 1L) << (2 * bit);
+            cell |= ((row >>> bit) & 1L) << (2 * bit + 1);
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,34 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Ride ids bucketed by the leaf {@link GeoCell} of a point. Writes are expected to be serialized by the owner.
+ */
+class GeoCellIndex {
+
+    private final ConcurrentSkipListMap<Long, Set<String>> cells = new ConcurrentSkipListMap<>();
+
+    void add(double latitude, double longitude, String rideId) {
+        cells.computeIfAbsent(GeoCell.leafCell(latitude, longitude), cell -> ConcurrentHashMap.newKeySet()).add(rideId);
+    }
+
+    void remove(double latitude, double longitude, String rideId) {
+        cells.computeIfPresent(GeoCell.leafCell(latitude, longitude), (cell, rideIds) -> {
+            rideIds.remove(rideId);
+            return rideIds.isEmpty() ? null : rideIds;
+        });
+    }
+
+    // Every id within the covering cells of the circle; callers still need to check the exact distance
+    void forEachCandidate(double latitude, double longitude, double radiusMeters, Consumer<String> consumer) {
+        for (long[] range : GeoCell.covering(latitude, longitude, radiusMeters)) {
+            for (Set<String> rideIds : cells.subMap(range[0], true, range[1], false).values()) {
+                rideIds.forEach(consumer);
+            }
+        }
+    }
+}
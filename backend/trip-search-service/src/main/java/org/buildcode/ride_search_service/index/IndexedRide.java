@@ -0,0 +1,57 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Compact, immutable view of a searchable ride held by the {@link RouteIndex}.
+ * Only the fields needed to answer a search are kept.
+ */
+@Value
+@Builder(toBuilder = true)
+public class IndexedRide {
+
+    // Sort key used for rides whose departure is not known
+    public static final long UNKNOWN_DEPARTURE = Long.MAX_VALUE;
+
+    String id;
+
+    String source;
+
+    String destination;
+
+    String ownerId;
+
+    int seats;
+
+    String carModel;
+
+    long departureAt;
+
+    // 0 when the fare is not known
+    long fare;
+
+    // NaN when the ride was published without coordinates
+    @Builder.Default
+    double sourceLatitude = Double.NaN;
+
+    @Builder.Default
+    double sourceLongitude = Double.NaN;
+
+    @Builder.Default
+    double destinationLatitude = Double.NaN;
+
+    @Builder.Default
+    double destinationLongitude = Double.NaN;
+
+    // Version of the last ride change applied, 0 when it is not known
+    long version;
+
+    // Driver's route as interleaved latitude/longitude pairs, null when none was published
+    double[] route;
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(sourceLatitude) && !Double.isNaN(sourceLongitude)
+                && !Double.isNaN(destinationLatitude) && !Double.isNaN(destinationLongitude);
+    }
+}
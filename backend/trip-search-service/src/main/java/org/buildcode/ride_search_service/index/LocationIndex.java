@@ -0,0 +1,136 @@
+package org.buildcode.ride_search_service.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vocabulary of the location names rides are published with, with a trigram index for suggesting
+ * known names for misspelt or differently written locations. Names are normalized, then padded
+ * ("  mg road ") so that word starts weigh more, and split into overlapping three-character grams.
+ * <p>
+ * Writes are serialized and copy-on-write; reads are lock-free. Names are never removed, the vocabulary
+ * only grows with new places.
+ */
+@Component
+public class LocationIndex {
+
+    // Dice score; low enough to absorb a transposed pair of letters in a ten-letter name
+    static final double MIN_SIMILARITY = 0.4;
+
+    private final ConcurrentHashMap<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    // Location ids per trigram, replaced (never mutated) when a location is added
+    private final ConcurrentHashMap<String, int[]> postings = new ConcurrentHashMap<>();
+
+    private volatile Vocabulary vocabulary = new Vocabulary(new String[0], new int[0]);
+
+    public synchronized void add(String location) {
+        String name = LocationNormalizer.normalize(location);
+        if (name.isEmpty() || idsByName.containsKey(name)) {
+            return;
+        }
+
+        Vocabulary current = vocabulary;
+        int id = current.names.length;
+        Set<String> grams = trigrams(name);
+        for (String gram : grams) {
+            postings.merge(gram, new int[]{id}, (ids, added) -> {
+                int[] merged = Arrays.copyOf(ids, ids.length + 1);
+                merged[ids.length] = id;
+                return merged;
+            });
+        }
+
+        String[] names = Arrays.copyOf(current.names, id + 1);
+        int[] gramCounts = Arrays.copyOf(current.gramCounts, id + 1);
+        names[id] = name;
+        gramCounts[id] = grams.size();
+        vocabulary = new Vocabulary(names, gramCounts);
+        idsByName.put(name, id);
+    }
+
+    /**
+     * Known locations the query may have meant, most similar first. Empty when the query is a known location
+     * after normalization, so that exact names are never traded for a similar one. Only names sharing a trigram
+     * with the query are scored; each candidate must reach {@link #MIN_SIMILARITY}.
+     */
+    public List<LocationMatch> suggest(String query, int limit) {
+        String name = LocationNormalizer.normalize(query);
+        if (name.isEmpty() || limit <= 0 || idsByName.containsKey(name)) {
+            return List.of();
+        }
+
+        Vocabulary known = vocabulary;
+        Set<String> grams = trigrams(name);
+        List<int[]> lists = new ArrayList<>(grams.size());
+        int hitCount = 0;
+        for (String gram : grams) {
+            int[] ids = postings.get(gram);
+            if (ids != null) {
+                lists.add(ids);
+                hitCount += ids.length;
+            }
+        }
+
+        // Sorted, the hits of one location are adjacent and their run length is the number of shared trigrams
+        int[] hits = new int[hitCount];
+        int filled = 0;
+        for (int[] ids : lists) {
+            System.arraycopy(ids, 0, hits, filled, ids.length);
+            filled += ids.length;
+        }
+        Arrays.sort(hits);
+
+        List<LocationMatch> matches = new ArrayList<>();
+        for (int from = 0, to; from < hits.length; from = to) {
+            int id = hits[from];
+            to = from + 1;
+            while (to < hits.length && hits[to] == id) {
+                to++;
+            }
+            // Postings may already hold a location added after the vocabulary was read
+            if (id >= known.names.length) {
+                continue;
+            }
+            double similarity = 2.0 * (to - from) / (grams.size() + known.gramCounts[id]);
+            if (similarity >= MIN_SIMILARITY) {
+                matches.add(new LocationMatch(known.names[id], similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(LocationMatch::getSimilarity).reversed()
+                .thenComparing(LocationMatch::getName));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    public int size() {
+        return vocabulary.names.length;
+    }
+
+    static Set<String> trigrams(String name) {
+        String padded = "  " + name + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Vocabulary {
+
+        private final String[] names;
+
+        private final int[] gramCounts;
+
+        private Vocabulary(String[] names, int[] gramCounts) {
+            this.names = names;
+            this.gramCounts = gramCounts;
+        }
+    }
+}
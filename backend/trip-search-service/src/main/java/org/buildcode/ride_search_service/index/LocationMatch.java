@@ -0,0 +1,13 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+@Value
+public class LocationMatch {
+
+    // Normalized location name, as rides are indexed under it
+    String name;
+
+    // Dice coefficient over the trigrams of both names
+    double similarity;
+}
@@ -0,0 +1,28 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class LocationNormalizer {
+
+    // Dots and apostrophes join the letters around them ("M.G." -> "mg"), other punctuation separates words
+    private static final Pattern JOINING = Pattern.compile("[.'’]");
+
+    private static final Pattern SEPARATING = Pattern.compile("[\\p{P}\\p{S}\\s]+");
+
+    private LocationNormalizer() {
+    }
+
+    // Lower-cases, drops punctuation and collapses whitespace so "M.G. Road", "MG Road " and "mg  road" share a corridor
+    public static String normalize(String location) {
+        if (location == null) {
+            return "";
+        }
+        String joined = JOINING.matcher(location.toLowerCase(Locale.ROOT)).replaceAll("");
+        return SEPARATING.matcher(joined).replaceAll(" ").trim();
+    }
+
+    public static String routeKey(String source, String destination) {
+        return normalize(source) + '\u0000' + normalize(destination);
+    }
+}
@@ -0,0 +1,13 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+@Value
+public class LocationSuggestion {
+
+    // Spelling the location was first indexed with
+    String location;
+
+    // Indexed rides starting or ending at the location
+    int rides;
+}
@@ -0,0 +1,194 @@
+package org.buildcode.ride_search_service.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed prefix trie of normalized location names, weighted by the number of indexed rides starting or
+ * ending there. Every node also tracks the highest weight in its subtree, so a prefix lookup expands the
+ * heaviest branches first and stops after {@code limit} names instead of visiting the whole subtree.
+ * <p>
+ * Weights are adjusted one ride at a time as rides are indexed, moved and removed. Names whose weight drops
+ * to zero stay in the trie but are no longer suggested.
+ */
+@Component
+public class LocationTrie {
+
+    private static final Comparator<Candidate> HEAVIEST_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> candidate.weight).reversed()
+            .thenComparing(candidate -> candidate.node.name == null ? "" : candidate.node.name);
+
+    private final Node root = new Node("");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String location) {
+        adjust(location, 1);
+    }
+
+    public void remove(String location) {
+        adjust(location, -1);
+    }
+
+    // Heaviest names starting with the normalized prefix, heaviest first
+    public List<LocationSuggestion> suggest(String prefix, int limit) {
+        String rest = LocationNormalizer.normalize(prefix);
+        List<LocationSuggestion> suggestions = new ArrayList<>(limit);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            while (!rest.isEmpty()) {
+                Node child = node.children.get(rest.charAt(0));
+                if (child == null) {
+                    return suggestions;
+                }
+                if (child.edge.startsWith(rest)) {
+                    rest = "";
+                } else if (rest.startsWith(child.edge)) {
+                    rest = rest.substring(child.edge.length());
+                } else {
+                    return suggestions;
+                }
+                node = child;
+            }
+
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>(HEAVIEST_FIRST);
+            if (node.maxWeight > 0) {
+                candidates.add(new Candidate(node, node.maxWeight, false));
+            }
+            while (!candidates.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = candidates.poll();
+                if (candidate.complete) {
+                    suggestions.add(new LocationSuggestion(candidate.node.label, candidate.node.weight));
+                    continue;
+                }
+                if (candidate.node.weight > 0) {
+                    candidates.add(new Candidate(candidate.node, candidate.node.weight, true));
+                }
+                for (Node child : candidate.node.children.values()) {
+                    if (child.maxWeight > 0) {
+                        candidates.add(new Candidate(child, child.maxWeight, false));
+                    }
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adjust(String location, int delta) {
+        String name = LocationNormalizer.normalize(location);
+        if (name.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            String rest = name;
+            while (!rest.isEmpty()) {
+                Node child = node.children.get(rest.charAt(0));
+                if (child == null) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = new Node(rest);
+                    node.children.put(rest.charAt(0), child);
+                } else {
+                    int common = commonPrefixLength(child.edge, rest);
+                    if (common < child.edge.length()) {
+                        if (delta < 0) {
+                            return;
+                        }
+                        child = split(node, child, common);
+                    }
+                }
+                rest = rest.substring(child.edge.length());
+                node = child;
+                path.add(node);
+            }
+
+            if (node.name == null) {
+                node.name = name;
+                node.label = location.trim();
+            }
+            node.weight = Math.max(0, node.weight + delta);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node onPath = path.get(i);
+                int maxWeight = onPath.weight;
+                for (Node child : onPath.children.values()) {
+                    maxWeight = Math.max(maxWeight, child.maxWeight);
+                }
+                onPath.maxWeight = maxWeight;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Inserts a node holding the first {@code length} characters of the child's edge between parent and child
+    private static Node split(Node parent, Node child, int length) {
+        Node middle = new Node(child.edge.substring(0, length));
+        child.edge = child.edge.substring(length);
+        middle.children.put(child.edge.charAt(0), child);
+        middle.maxWeight = child.maxWeight;
+        parent.children.put(middle.edge.charAt(0), middle);
+        return middle;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String edge;
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        // Set on nodes where a location name ends; label is the spelling the name was first seen with
+        private String name;
+
+        private String label;
+
+        private int weight;
+
+        private int maxWeight;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private static final class Candidate {
+
+        private final Node node;
+
+        private final int weight;
+
+        // True once the node itself is queued as a result rather than as a subtree to expand
+        private final boolean complete;
+
+        private Candidate(Node node, int weight, boolean complete) {
+            this.node = node;
+            this.weight = weight;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+@Value
+public class NearbyRide {
+
+    IndexedRide ride;
+
+    double pickupDistance;
+
+    double dropOffDistance;
+
+    public double getCombinedDistance() {
+        return pickupDistance + dropOffDistance;
+    }
+
+    // Null when either end of the ride is outside the radius around the requested points
+    public static NearbyRide match(IndexedRide ride, double pickupLatitude, double pickupLongitude,
+                                   double dropOffLatitude, double dropOffLongitude, double radiusMeters) {
+        if (!ride.hasCoordinates()) {
+            return null;
+        }
+        double pickupDistance = GeoCell.distanceMeters(
+                pickupLatitude, pickupLongitude, ride.getSourceLatitude(), ride.getSourceLongitude());
+        if (pickupDistance > radiusMeters) {
+            return null;
+        }
+        double dropOffDistance = GeoCell.distanceMeters(
+                dropOffLatitude, dropOffLongitude, ride.getDestinationLatitude(), ride.getDestinationLongitude());
+        if (dropOffDistance > radiusMeters) {
+            return null;
+        }
+        return new NearbyRide(ride, pickupDistance, dropOffDistance);
+    }
+}
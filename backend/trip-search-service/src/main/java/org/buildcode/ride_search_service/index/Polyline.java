@@ -0,0 +1,53 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.Arrays;
+
+/**
+ * Decoder for the Google encoded polyline format used to publish a driver's route.
+ */
+public final class Polyline {
+
+    private Polyline() {
+    }
+
+    // Interleaved latitude/longitude pairs, or null when there is no usable route
+    public static double[] decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+
+        double[] points = new double[16];
+        int size = 0;
+        int index = 0;
+        int latitude = 0;
+        int longitude = 0;
+        while (index < encoded.length()) {
+            int[] next = {index};
+            latitude += decodeValue(encoded, next);
+            longitude += decodeValue(encoded, next);
+            index = next[0];
+
+            if (size + 2 > points.length) {
+                points = Arrays.copyOf(points, points.length * 2);
+            }
+            points[size++] = latitude * 1e-5;
+            points[size++] = longitude * 1e-5;
+        }
+        return size >= 4 ? Arrays.copyOf(points, size) : null;
+    }
+
+    private static int decodeValue(String encoded, int[] position) {
+        int result = 0;
+        int shift = 0;
+        int chunk;
+        do {
+            if (position[0] >= encoded.length()) {
+                throw new IllegalArgumentException("Truncated polyline");
+            }
+            chunk = encoded.charAt(position[0]++) - 63;
+            result |= (chunk & 0x1f) << shift;
+            shift += 5;
+        } while (chunk >= 0x20);
+        return (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+    }
+}
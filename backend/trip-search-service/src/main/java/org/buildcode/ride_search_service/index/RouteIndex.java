@@ -0,0 +1,308 @@
+package org.buildcode.ride_search_service.index;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resident index of searchable rides, keyed by the normalized (source, destination) pair.
+ * Each {@link Corridor} keeps its rides sorted by departure (then id) in time buckets, so a search
+ * is a single ordered walk over the part of one corridor that matches instead of a table scan.
+ * Dated rides are also partitioned by UTC departure day, so rides that have departed are dropped a whole
+ * day at a time by {@link #expireBefore(long)} instead of being searched for.
+ * <p>
+ * Writes are serialized; reads are lock-free and may briefly miss a ride that is being moved.
+ */
+@Component
+public class RouteIndex {
+
+    static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    private final ConcurrentHashMap<String, Corridor> corridors = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, IndexedRide> ridesById = new ConcurrentHashMap<>();
+
+    // Secondary index on pickup coordinates for radius searches
+    private final GeoCellIndex pickupCells = new GeoCellIndex();
+
+    // Secondary index on route pieces for en-route searches
+    private final RouteSegmentIndex routeSegments = new RouteSegmentIndex();
+
+    // Ids of dated rides by UTC departure day, only touched under the write lock
+    private final TreeMap<Long, Set<String>> ridesByDay = new TreeMap<>();
+
+    private volatile boolean ready;
+
+    // Returns the previously indexed version of the ride, if any
+    public synchronized IndexedRide upsert(IndexedRide ride) {
+        IndexedRide previous = ridesById.put(ride.getId(), ride);
+        if (previous != null) {
+            unlink(previous);
+        }
+        corridors.computeIfAbsent(routeKey(ride), key -> new Corridor()).add(ride);
+        if (ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE) {
+            ridesByDay.computeIfAbsent(day(ride.getDepartureAt()), key -> new HashSet<>()).add(ride.getId());
+        }
+        if (ride.hasCoordinates()) {
+            pickupCells.add(ride.getSourceLatitude(), ride.getSourceLongitude(), ride.getId());
+        }
+        if (ride.getRoute() != null) {
+            routeSegments.add(ride.getId(), ride.getRoute());
+        }
+        return previous;
+    }
+
+    public synchronized IndexedRide remove(String rideId) {
+        IndexedRide previous = ridesById.remove(rideId);
+        if (previous != null) {
+            unlink(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Drops every day partition that ended before {@code cutoffMillis}. Detaching a day is a single map removal;
+     * its rides are then unlinked from the corridors and secondary indexes. Returns the rides removed.
+     */
+    public synchronized List<IndexedRide> expireBefore(long cutoffMillis) {
+        List<IndexedRide> expired = new ArrayList<>();
+        long firstLiveDay = day(cutoffMillis);
+        Map.Entry<Long, Set<String>> partition;
+        while ((partition = ridesByDay.firstEntry()) != null && partition.getKey() < firstLiveDay) {
+            ridesByDay.remove(partition.getKey());
+            for (String rideId : partition.getValue()) {
+                IndexedRide ride = ridesById.remove(rideId);
+                if (ride != null) {
+                    unlinkSecondary(ride);
+                    expired.add(ride);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public IndexedRide get(String rideId) {
+        return ridesById.get(rideId);
+    }
+
+    public RouteIndexPage search(String source, String destination, int minSeats, int offset, int limit) {
+        return search(source, destination, minSeats, DepartureWindow.ANY, offset, limit);
+    }
+
+    public RouteIndexPage search(String source, String destination, int minSeats, DepartureWindow window,
+                                 int offset, int limit) {
+        return search(source, destination, new int[]{minSeats}, window, offset, limit, null).get(0);
+    }
+
+    // Also counts every matching ride into {@code facets}, during the same walk that fills the page
+    public RouteIndexPage search(String source, String destination, int minSeats, DepartureWindow window,
+                                 int offset, int limit, FacetCounts facets) {
+        return search(source, destination, new int[]{minSeats}, window, offset, limit,
+                facets != null ? new FacetCounts[]{facets} : null).get(0);
+    }
+
+    public List<RouteIndexPage> search(String source, String destination, int[] minSeats, DepartureWindow window,
+                                       int offset, int limit) {
+        return search(source, destination, minSeats, window, offset, limit, null);
+    }
+
+    /**
+     * One walk over the corridor answering the same page for several seat thresholds, in the order given.
+     * When {@code facets} is not null, the matches of each threshold are also counted into the entry at its position.
+     */
+    public List<RouteIndexPage> search(String source, String destination, int[] minSeats, DepartureWindow window,
+                                       int offset, int limit, FacetCounts[] facets) {
+        Corridor corridor = corridors.get(LocationNormalizer.routeKey(source, destination));
+        List<RouteIndexPage> pages = new ArrayList<>(minSeats.length);
+        if (corridor == null) {
+            for (int i = 0; i < minSeats.length; i++) {
+                pages.add(new RouteIndexPage(List.of(), 0));
+            }
+            return pages;
+        }
+
+        List<List<IndexedRide>> rides = new ArrayList<>(minSeats.length);
+        for (int i = 0; i < minSeats.length; i++) {
+            rides.add(new ArrayList<>(Math.min(limit, 64)));
+        }
+        long[] matched = new long[minSeats.length];
+        Iterator<IndexedRide> candidates = corridor.rides(window, null).iterator();
+        while (candidates.hasNext()) {
+            IndexedRide ride = candidates.next();
+            for (int i = 0; i < minSeats.length; i++) {
+                if (ride.getSeats() < minSeats[i]) {
+                    continue;
+                }
+                if (matched[i] >= offset && rides.get(i).size() < limit) {
+                    rides.get(i).add(ride);
+                }
+                if (facets != null) {
+                    facets[i].add(ride);
+                }
+                matched[i]++;
+            }
+        }
+        for (int i = 0; i < minSeats.length; i++) {
+            pages.add(new RouteIndexPage(rides.get(i), matched[i]));
+        }
+        return pages;
+    }
+
+    public List<IndexedRide> searchAfter(String source, String destination, int minSeats, IndexedRide after, int limit) {
+        return searchAfter(source, destination, minSeats, DepartureWindow.ANY, after, limit);
+    }
+
+    // Keyset page: rides strictly after the (departure, id) of {@code after}, or from the start when null
+    public List<IndexedRide> searchAfter(String source, String destination, int minSeats, DepartureWindow window,
+                                         IndexedRide after, int limit) {
+        Corridor corridor = corridors.get(LocationNormalizer.routeKey(source, destination));
+        if (corridor == null) {
+            return List.of();
+        }
+        return corridor.rides(window, after)
+                .filter(ride -> ride.getSeats() >= minSeats)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Lazy walk over the matching part of a corridor in departure order, for callers that stream results
+    public Stream<IndexedRide> stream(String source, String destination, int minSeats, DepartureWindow window) {
+        Corridor corridor = corridors.get(LocationNormalizer.routeKey(source, destination));
+        if (corridor == null) {
+            return Stream.empty();
+        }
+        return corridor.rides(window, null).filter(ride -> ride.getSeats() >= minSeats);
+    }
+
+    public long count(String source, String destination, int minSeats) {
+        return count(source, destination, minSeats, DepartureWindow.ANY);
+    }
+
+    public long count(String source, String destination, int minSeats, DepartureWindow window) {
+        Corridor corridor = corridors.get(LocationNormalizer.routeKey(source, destination));
+        if (corridor == null) {
+            return 0;
+        }
+        return corridor.rides(window, null).filter(ride -> ride.getSeats() >= minSeats).count();
+    }
+
+    /**
+     * Rides whose pickup and drop-off both lie within {@code radiusMeters} of the requested points,
+     * ordered by combined distance. Candidates come from the pickup cells only.
+     */
+    public List<NearbyRide> searchNearby(double pickupLatitude, double pickupLongitude,
+                                         double dropOffLatitude, double dropOffLongitude,
+                                         double radiusMeters, int minSeats, DepartureWindow window) {
+        List<NearbyRide> matches = new ArrayList<>();
+        pickupCells.forEachCandidate(pickupLatitude, pickupLongitude, radiusMeters, rideId -> {
+            IndexedRide ride = ridesById.get(rideId);
+            if (ride == null || ride.getSeats() < minSeats || !window.contains(ride.getDepartureAt())) {
+                return;
+            }
+            NearbyRide match = NearbyRide.match(
+                    ride, pickupLatitude, pickupLongitude, dropOffLatitude, dropOffLongitude, radiusMeters);
+            if (match != null) {
+                matches.add(match);
+            }
+        });
+        matches.sort(Comparator.comparingDouble(NearbyRide::getCombinedDistance)
+                .thenComparing(match -> match.getRide().getId()));
+        return matches;
+    }
+
+    /**
+     * Rides whose route passes both points, pickup first, for a detour of at most {@code maxDetourMeters},
+     * ordered by detour. Candidates come from the route pieces near each point; only rides near both are evaluated.
+     */
+    public List<EnRouteRide> searchEnRoute(double pickupLatitude, double pickupLongitude,
+                                           double dropOffLatitude, double dropOffLongitude,
+                                           double maxDetourMeters, int minSeats, DepartureWindow window) {
+        // Each stop costs twice its offset from the route, so neither point can be further than half the budget
+        double maxOffset = Math.min(maxDetourMeters / 2, RouteSegmentIndex.MAX_OFFSET_METERS);
+
+        Map<String, List<DetourEvaluator.Hit>> pickups = new HashMap<>();
+        routeSegments.forEachNear(pickupLatitude, pickupLongitude, maxOffset,
+                (rideId, hit) -> pickups.computeIfAbsent(rideId, key -> new ArrayList<>()).add(hit));
+        if (pickups.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<DetourEvaluator.Hit>> dropOffs = new HashMap<>();
+        routeSegments.forEachNear(dropOffLatitude, dropOffLongitude, maxOffset, (rideId, hit) -> {
+            if (pickups.containsKey(rideId)) {
+                dropOffs.computeIfAbsent(rideId, key -> new ArrayList<>()).add(hit);
+            }
+        });
+
+        List<EnRouteRide> matches = new ArrayList<>();
+        dropOffs.forEach((rideId, hits) -> {
+            IndexedRide ride = ridesById.get(rideId);
+            if (ride == null || ride.getSeats() < minSeats || !window.contains(ride.getDepartureAt())) {
+                return;
+            }
+            double detour = DetourEvaluator.cheapestDetour(pickups.get(rideId), hits);
+            if (!Double.isNaN(detour) && detour <= maxDetourMeters) {
+                matches.add(new EnRouteRide(ride, detour));
+            }
+        });
+        matches.sort(Comparator.comparingDouble(EnRouteRide::getDetourMeters)
+                .thenComparing(match -> match.getRide().getId()));
+        return matches;
+    }
+
+    public int size() {
+        return ridesById.size();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    private void unlink(IndexedRide ride) {
+        if (ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE) {
+            ridesByDay.computeIfPresent(day(ride.getDepartureAt()), (key, rideIds) -> {
+                rideIds.remove(ride.getId());
+                return rideIds.isEmpty() ? null : rideIds;
+            });
+        }
+        unlinkSecondary(ride);
+    }
+
+    // Everything but the day partition
+    private void unlinkSecondary(IndexedRide ride) {
+        if (ride.hasCoordinates()) {
+            pickupCells.remove(ride.getSourceLatitude(), ride.getSourceLongitude(), ride.getId());
+        }
+        if (ride.getRoute() != null) {
+            routeSegments.remove(ride.getId(), ride.getRoute());
+        }
+        corridors.computeIfPresent(routeKey(ride), (key, corridor) -> {
+            corridor.remove(ride);
+            return corridor.isEmpty() ? null : corridor;
+        });
+    }
+
+    private static long day(long departureAt) {
+        return Math.floorDiv(departureAt, DAY_MILLIS);
+    }
+
+    public static String routeKey(IndexedRide ride) {
+        return LocationNormalizer.routeKey(ride.getSource(), ride.getDestination());
+    }
+}
@@ -0,0 +1,13 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class RouteIndexPage {
+
+    List<IndexedRide> rides;
+
+    long totalElements;
+}
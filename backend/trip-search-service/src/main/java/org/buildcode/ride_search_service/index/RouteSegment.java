@@ -0,0 +1,70 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Piece of a driver's route. Routes are cut into pieces no longer than {@link #MAX_LENGTH_METERS} so that
+ * each piece only overlaps a handful of {@link RouteSegmentIndex} cells; {@code index} increases along the route.
+ */
+@Value
+public class RouteSegment {
+
+    static final double MAX_LENGTH_METERS = GeoCell.cellHeightMeters(RouteSegmentIndex.LEVEL) / 2;
+
+    String rideId;
+
+    int index;
+
+    double fromLatitude;
+
+    double fromLongitude;
+
+    double toLatitude;
+
+    double toLongitude;
+
+    static List<RouteSegment> split(String rideId, double[] route) {
+        List<RouteSegment> segments = new ArrayList<>();
+        for (int point = 0; point + 3 < route.length; point += 2) {
+            double fromLatitude = route[point];
+            double fromLongitude = route[point + 1];
+            double toLatitude = route[point + 2];
+            double toLongitude = route[point + 3];
+
+            double length = GeoCell.distanceMeters(fromLatitude, fromLongitude, toLatitude, toLongitude);
+            int pieces = Math.max(1, (int) Math.ceil(length / MAX_LENGTH_METERS));
+            for (int piece = 0; piece < pieces; piece++) {
+                double start = (double) piece / pieces;
+                double end = (double) (piece + 1) / pieces;
+                segments.add(new RouteSegment(
+                        rideId,
+                        segments.size(),
+                        fromLatitude + (toLatitude - fromLatitude) * start,
+                        fromLongitude + (toLongitude - fromLongitude) * start,
+                        fromLatitude + (toLatitude - fromLatitude) * end,
+                        fromLongitude + (toLongitude - fromLongitude) * end
+                ));
+            }
+        }
+        return segments;
+    }
+
+    double minLatitude() {
+        return Math.min(fromLatitude, toLatitude);
+    }
+
+    double maxLatitude() {
+        return Math.max(fromLatitude, toLatitude);
+    }
+
+    double minLongitude() {
+        return Math.min(fromLongitude, toLongitude);
+    }
+
+    double maxLongitude() {
+        return Math.max(fromLongitude, toLongitude);
+    }
+}
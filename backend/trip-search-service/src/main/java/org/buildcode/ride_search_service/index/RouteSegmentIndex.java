@@ -0,0 +1,67 @@
+package org.buildcode.ride_search_service.index;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route pieces bucketed by the {@link GeoCell}s (at {@link #LEVEL}) their bounding boxes overlap.
+ * Writes are expected to be serialized by the owner.
+ */
+class RouteSegmentIndex {
+
+    // ~1.2 km tall cells, so the 3x3 neighbourhood of a point reaches at least MAX_OFFSET_METERS in every direction
+    static final int LEVEL = 14;
+
+    static final double MAX_OFFSET_METERS = 1_000;
+
+    private final ConcurrentHashMap<Long, Set<RouteSegment>> cells = new ConcurrentHashMap<>();
+
+    void add(String rideId, double[] route) {
+        for (RouteSegment segment : RouteSegment.split(rideId, route)) {
+            for (long cell : cellsOf(segment)) {
+                cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(segment);
+            }
+        }
+    }
+
+    void remove(String rideId, double[] route) {
+        for (RouteSegment segment : RouteSegment.split(rideId, route)) {
+            for (long cell : cellsOf(segment)) {
+                cells.computeIfPresent(cell, (key, segments) -> {
+                    segments.remove(segment);
+                    return segments.isEmpty() ? null : segments;
+                });
+            }
+        }
+    }
+
+    /**
+     * Reports every route piece passing within {@code maxOffsetMeters} of the point, with the offset and the
+     * position of the closest point along the piece. Pieces whose padded bounding box misses the point are
+     * skipped before any distance is computed. A piece spanning several cells may be reported more than once.
+     */
+    void forEachNear(double latitude, double longitude, double maxOffsetMeters, DetourEvaluator.HitConsumer consumer) {
+        double latitudePadding = GeoCell.latitudeDelta(maxOffsetMeters);
+        double longitudePadding = GeoCell.longitudeDelta(latitude, maxOffsetMeters);
+        for (long cell : GeoCell.neighbourhood(latitude, longitude, LEVEL)) {
+            Set<RouteSegment> segments = cells.get(cell);
+            if (segments == null) {
+                continue;
+            }
+            for (RouteSegment segment : segments) {
+                if (latitude < segment.minLatitude() - latitudePadding || latitude > segment.maxLatitude() + latitudePadding
+                        || longitude < segment.minLongitude() - longitudePadding
+                        || longitude > segment.maxLongitude() + longitudePadding) {
+                    continue;
+                }
+                DetourEvaluator.project(segment, latitude, longitude, maxOffsetMeters, consumer);
+            }
+        }
+    }
+
+    private static List<Long> cellsOf(RouteSegment segment) {
+        return GeoCell.cellsInBox(segment.minLatitude(), segment.minLongitude(),
+                segment.maxLatitude(), segment.maxLongitude(), LEVEL);
+    }
+}
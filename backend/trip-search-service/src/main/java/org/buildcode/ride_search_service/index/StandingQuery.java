@@ -0,0 +1,27 @@
+package org.buildcode.ride_search_service.index;
+
+import lombok.Value;
+
+/**
+ * Saved search as held by the {@link StandingQueryIndex}: the corridor, seat threshold and departure window
+ * a new ride must satisfy to be reported to the rider.
+ */
+@Value
+public class StandingQuery {
+
+    String id;
+
+    String riderId;
+
+    String source;
+
+    String destination;
+
+    int minSeats;
+
+    DepartureWindow window;
+
+    public boolean matches(IndexedRide ride) {
+        return ride.getSeats() >= minSeats && window.contains(ride.getDepartureAt());
+    }
+}
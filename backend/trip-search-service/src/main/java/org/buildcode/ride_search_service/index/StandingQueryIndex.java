@@ -0,0 +1,158 @@
+package org.buildcode.ride_search_service.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index of saved searches, so a new ride is matched against the queries that could want it rather
+ * than against every stored query. Queries are keyed by the normalized (source, destination) pair like the
+ * {@link RouteIndex}, then by every departure day their window overlaps. Open windows and windows longer than
+ * {@link #MAX_BUCKETED_DAYS} are kept in one list per corridor that every ride on it is checked against.
+ * <p>
+ * Writes are serialized; matching is lock-free and may briefly miss a query that is being replaced.
+ */
+@Component
+public class StandingQueryIndex {
+
+    static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    static final int MAX_BUCKETED_DAYS = 31;
+
+    private final ConcurrentHashMap<String, QueryCorridor> corridors = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, StandingQuery> queriesById = new ConcurrentHashMap<>();
+
+    public synchronized void register(StandingQuery query) {
+        StandingQuery previous = queriesById.put(query.getId(), query);
+        if (previous != null) {
+            unlink(previous);
+        }
+        corridors.computeIfAbsent(routeKey(query), key -> new QueryCorridor()).add(query);
+    }
+
+    public synchronized void unregister(String queryId) {
+        StandingQuery previous = queriesById.remove(queryId);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    // Brings the index in line with the stored queries, touching only the ones that changed
+    public synchronized void replaceAll(Collection<StandingQuery> queries) {
+        Set<String> ids = new HashSet<>();
+        for (StandingQuery query : queries) {
+            ids.add(query.getId());
+            if (!query.equals(queriesById.get(query.getId()))) {
+                register(query);
+            }
+        }
+        for (String queryId : List.copyOf(queriesById.keySet())) {
+            if (!ids.contains(queryId)) {
+                unregister(queryId);
+            }
+        }
+    }
+
+    public List<StandingQuery> match(IndexedRide ride) {
+        QueryCorridor corridor = corridors.get(RouteIndex.routeKey(ride));
+        if (corridor == null) {
+            return List.of();
+        }
+        List<StandingQuery> matches = new ArrayList<>();
+        for (StandingQuery query : corridor.wide) {
+            if (query.matches(ride)) {
+                matches.add(query);
+            }
+        }
+        if (ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE) {
+            Set<StandingQuery> sameDay = corridor.byDay.get(day(ride.getDepartureAt()));
+            if (sameDay != null) {
+                for (StandingQuery query : sameDay) {
+                    if (query.matches(ride)) {
+                        matches.add(query);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return queriesById.size();
+    }
+
+    private void unlink(StandingQuery query) {
+        corridors.computeIfPresent(routeKey(query), (key, corridor) -> {
+            corridor.remove(query);
+            return corridor.isEmpty() ? null : corridor;
+        });
+    }
+
+    private static String routeKey(StandingQuery query) {
+        return LocationNormalizer.routeKey(query.getSource(), query.getDestination());
+    }
+
+    private static long day(long epochMillis) {
+        return Math.floorDiv(epochMillis, DAY_MILLIS);
+    }
+
+    // Days the window overlaps, or null when it is open or too long to bucket
+    private static long[] days(DepartureWindow window) {
+        if (window.fromInstant() == null || window.toInstant() == null) {
+            return null;
+        }
+        long first = day(window.getFrom());
+        long last = day(window.getTo());
+        if (last - first >= MAX_BUCKETED_DAYS) {
+            return null;
+        }
+        long[] days = new long[(int) (last - first + 1)];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = first + i;
+        }
+        return days;
+    }
+
+    private static final class QueryCorridor {
+
+        private final Set<StandingQuery> wide = ConcurrentHashMap.newKeySet();
+
+        private final Map<Long, Set<StandingQuery>> byDay = new ConcurrentHashMap<>();
+
+        private void add(StandingQuery query) {
+            long[] days = days(query.getWindow());
+            if (days == null) {
+                wide.add(query);
+                return;
+            }
+            for (long day : days) {
+                byDay.computeIfAbsent(day, key -> ConcurrentHashMap.newKeySet()).add(query);
+            }
+        }
+
+        private void remove(StandingQuery query) {
+            long[] days = days(query.getWindow());
+            if (days == null) {
+                wide.remove(query);
+                return;
+            }
+            for (long day : days) {
+                byDay.computeIfPresent(day, (key, queries) -> {
+                    queries.remove(query);
+                    return queries.isEmpty() ? null : queries;
+                });
+            }
+        }
+
+        private boolean isEmpty() {
+            return wide.isEmpty() && byDay.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.buildcode.ride_search_service.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.mapper.RideEventMapper;
+import org.buildcode.ride_search_service.service.RouteIndexService;
+import org.buildcode.ride_search_service.service.SearchProjectionTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Slf4j
+public class RideEventListener {
+
+    @Autowired
+    private RideEventMapper rideEventMapper;
+
+    @Autowired
+    private RouteIndexService routeIndexService;
+
+    @Autowired
+    private SearchProjectionTracker searchProjectionTracker;
+
+    // Started by SearchProjectionBootstrapRunner once the database snapshot is loaded
+    @KafkaListener(
+            id = KafkaConstants.SEARCH_PROJECTION_LISTENER,
+            containerFactory = KafkaConstants.SEARCH_PROJECTION_CONTAINER_FACTORY,
+            autoStartup = "false",
+            topics = {KafkaConstants.RIDE_CREATED_TOPIC, KafkaConstants.RIDE_UPDATED_TOPIC},
+            groupId = "${search.projection.group-id}"
+    )
+    public void onRideEvent(final ConsumerRecord<String, byte[]> record) {
+        log.debug("Received {} event of {} bytes", record.topic(), record.value().length);
+        try {
+            RideEventPayload payload = rideEventMapper.toRideEventPayload(record.value());
+            if (KafkaConstants.RIDE_CREATED_TOPIC.equals(record.topic())) {
+                routeIndexService.onRideCreated(payload);
+            } else {
+                routeIndexService.onRideUpdated(payload);
+            }
+        } catch (IOException | IllegalArgumentException invalidMessage) {
+            log.error("Invalid message received: {}", invalidMessage.getMessage());
+        } catch (Exception ex) {
+            log.error("Some error occurred: {}", ex.getMessage());
+        } finally {
+            searchProjectionTracker.onRecordProcessed(record.topic(), record.partition(), record.offset());
+        }
+    }
+}
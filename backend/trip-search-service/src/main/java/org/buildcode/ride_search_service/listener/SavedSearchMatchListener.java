@@ -0,0 +1,40 @@
+package org.buildcode.ride_search_service.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.data.mapper.RideEventMapper;
+import org.buildcode.ride_search_service.service.SavedSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Slf4j
+public class SavedSearchMatchListener {
+
+    @Autowired
+    private RideEventMapper rideEventMapper;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    // Started by SavedSearchBootstrapRunner once the saved searches are loaded; the group is shared by all instances
+    @KafkaListener(
+            id = KafkaConstants.SAVED_SEARCH_LISTENER,
+            autoStartup = "false",
+            topics = KafkaConstants.RIDE_CREATED_TOPIC,
+            groupId = "${search.saved-searches.group-id}"
+    )
+    public void onRideCreated(final ConsumerRecord<String, byte[]> record) {
+        try {
+            savedSearchService.onRideCreated(rideEventMapper.toRideEventPayload(record.value()));
+        } catch (IOException | IllegalArgumentException invalidMessage) {
+            log.error("Invalid message received: {}", invalidMessage.getMessage());
+        } catch (Exception ex) {
+            log.error("Some error occurred: {}", ex.getMessage());
+        }
+    }
+}
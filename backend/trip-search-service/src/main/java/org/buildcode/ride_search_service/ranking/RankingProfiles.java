@@ -0,0 +1,36 @@
+package org.buildcode.ride_search_service.ranking;
+
+import org.buildcode.ride_search_service.api.model.v1_0.RankingWeightsModel;
+import org.buildcode.ride_search_service.data.dto.SearchRankingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RankingProfiles {
+
+    @Autowired
+    private SearchRankingProperties searchRankingProperties;
+
+    // Weights of the named (or default) profile with any per-request overrides applied
+    public RankingWeights resolve(String profile, RankingWeightsModel overrides) {
+        String name = profile != null ? profile : searchRankingProperties.getDefaultProfile();
+        RankingWeights weights = searchRankingProperties.getProfiles().get(name);
+        if (weights == null) {
+            throw new IllegalArgumentException("Unknown ranking profile: " + name);
+        }
+        if (overrides == null) {
+            return weights;
+        }
+
+        RankingWeights resolved = new RankingWeights(
+                overrides.getDeparture() != null ? overrides.getDeparture() : weights.getDeparture(),
+                overrides.getFare() != null ? overrides.getFare() : weights.getFare(),
+                overrides.getSeats() != null ? overrides.getSeats() : weights.getSeats(),
+                overrides.getDetour() != null ? overrides.getDetour() : weights.getDetour()
+        );
+        if (resolved.getDeparture() < 0 || resolved.getFare() < 0 || resolved.getSeats() < 0 || resolved.getDetour() < 0) {
+            throw new IllegalArgumentException("Ranking weights must not be negative");
+        }
+        return resolved;
+    }
+}
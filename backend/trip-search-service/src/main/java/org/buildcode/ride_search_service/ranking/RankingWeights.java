@@ -0,0 +1,18 @@
+package org.buildcode.ride_search_service.ranking;
+
+import lombok.Value;
+
+/**
+ * Weights of the ranking penalties, see {@link RideRanker}. A zero weight ignores the criterion.
+ */
+@Value
+public class RankingWeights {
+
+    double departure;
+
+    double fare;
+
+    double seats;
+
+    double detour;
+}
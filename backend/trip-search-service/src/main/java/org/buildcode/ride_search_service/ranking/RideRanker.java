@@ -0,0 +1,38 @@
+package org.buildcode.ride_search_service.ranking;
+
+import org.buildcode.ride_search_service.index.IndexedRide;
+
+/**
+ * Scores a ride for ranking; lower is better. Each criterion is turned into a penalty of roughly one unit
+ * for a typical "noticeably worse" value, then weighted:
+ * <ul>
+ *     <li>departure: hours between the departure and the rider's target time</li>
+ *     <li>fare: fare in hundreds, rides without a known fare are not penalized</li>
+ *     <li>seats: {@code 1 / remaining seats}, fuller rides rank lower</li>
+ *     <li>detour: kilometers the driver goes out of the way, for radius and en-route searches</li>
+ * </ul>
+ */
+public final class RideRanker {
+
+    private static final double HOUR_MILLIS = 3_600_000;
+
+    // Penalty for rides without a known departure, as if they left a day away from the target
+    private static final double UNKNOWN_DEPARTURE_HOURS = 24;
+
+    private static final double FARE_SCALE = 100;
+
+    private RideRanker() {
+    }
+
+    public static double score(IndexedRide ride, double detourMeters, long targetDepartureAt, RankingWeights weights) {
+        double departure = ride.getDepartureAt() == IndexedRide.UNKNOWN_DEPARTURE
+                ? UNKNOWN_DEPARTURE_HOURS
+                : Math.abs(ride.getDepartureAt() - targetDepartureAt) / HOUR_MILLIS;
+        double fare = ride.getFare() > 0 ? ride.getFare() / FARE_SCALE : 0;
+        double seats = 1.0 / Math.max(ride.getSeats(), 1);
+        return weights.getDeparture() * departure
+                + weights.getFare() * fare
+                + weights.getSeats() * seats
+                + weights.getDetour() * detourMeters / 1_000;
+    }
+}
@@ -0,0 +1,109 @@
+package org.buildcode.ride_search_service.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@code capacity} lowest-scored items offered to it in a bounded max-heap, so ranking a
+ * candidate stream never holds or sorts more than K items. Scores and arrival order live in primitive
+ * arrays; ties go to the item offered first, which keeps the departure order of the candidates.
+ * Not thread-safe.
+ */
+public final class TopK<T> {
+
+    private final int capacity;
+
+    private final double[] scores;
+
+    private final long[] arrivals;
+
+    private final Object[] items;
+
+    private int size;
+
+    private long offered;
+
+    public TopK(int capacity) {
+        this.capacity = capacity;
+        this.scores = new double[capacity];
+        this.arrivals = new long[capacity];
+        this.items = new Object[capacity];
+    }
+
+    public void offer(T item, double score) {
+        long arrival = offered++;
+        if (size < capacity) {
+            set(size, item, score, arrival);
+            siftUp(size++);
+        } else if (capacity > 0 && isWorse(0, score, arrival)) {
+            // The root is the worst item kept; the newcomer replaces it
+            set(0, item, score, arrival);
+            siftDown(0, size);
+        }
+    }
+
+    // Number of items offered, kept or not
+    public long getOffered() {
+        return offered;
+    }
+
+    // Kept items best first. Sorts in place, so the heap cannot be offered to afterwards
+    @SuppressWarnings("unchecked")
+    public List<T> drainSorted() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        List<T> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add((T) items[i]);
+        }
+        size = 0;
+        return sorted;
+    }
+
+    private boolean isWorse(int index, double score, long arrival) {
+        return scores[index] > score || (scores[index] == score && arrivals[index] > arrival);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(index, scores[parent], arrivals[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < end; child++) {
+                if (isWorse(child, scores[worst], arrivals[worst])) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void set(int index, Object item, double score, long arrival) {
+        items[index] = item;
+        scores[index] = score;
+        arrivals[index] = arrival;
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        double score = scores[a];
+        long arrival = arrivals[a];
+        set(a, items[b], scores[b], arrivals[b]);
+        set(b, item, score, arrival);
+    }
+}
@@ -1,21 +1,115 @@
 // src/main/java/org/buildcode/ride_search_service/repository/RideRepository.java
 package org.buildcode.ride_search_service.repository;
 
+import org.buildcode.ride_search_service.api.constants.RideStatus;
 import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.data.projection.RideProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Search queries select the {@link RideProjection} columns by alias, so they return plain tuples that the
+ * persistence context never tracks, and run in read-only transactions (no flush, no dirty checking).
+ * Departure bounds are optional (null = open) and, like the route index, rides come back in departure order.
+ */
 @Repository
 public interface RideRepository extends CrudRepository<Ride, String> {
 
+    String PROJECTION = "SELECT r.id AS id, r.source AS source, r.destination AS destination, r.userId AS userId, " +
+            "r.seats AS seats, r.departureAt AS departureAt, r.fare AS fare, " +
+            "r.sourceLatitude AS sourceLatitude, r.sourceLongitude AS sourceLongitude, " +
+            "r.destinationLatitude AS destinationLatitude, r.destinationLongitude AS destinationLongitude " +
+            "FROM Ride r ";
+
+    // Same rule as the route index: only rides still open for booking are searchable.
+    // Leads with the columns of the idx_search_rides_corridor index.
+    String CORRIDOR = "WHERE r.source = :source AND r.destination = :destination " +
+            "AND r.status = org.buildcode.ride_search_service.api.constants.RideStatus.CREATED ";
+
+    // The departureDay bounds are redundant with departureAt but are what lets MySQL prune partitions
+    String DEPARTURE_WINDOW = "AND r.departureDay BETWEEN :firstDay AND :lastDay " +
+            "AND (:departureFrom IS NULL OR r.departureAt >= :departureFrom) " +
+            "AND (:departureTo IS NULL OR r.departureAt <= :departureTo) ";
+
+    String DEPARTURE_ORDER = "ORDER BY r.departureAt ASC NULLS LAST, r.id ASC";
+
     // Query method when seats criteria is provided
-    @Query("SELECT r FROM Ride r WHERE r.source = :source AND r.destination = :destination AND r.seats >= :seats")
-    Page<Ride> findRidesWithSeats(String source, String destination, Integer seats, Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(value = PROJECTION + CORRIDOR + "AND r.seats >= :seats " + DEPARTURE_WINDOW + DEPARTURE_ORDER,
+            countQuery = "SELECT COUNT(r) FROM Ride r " + CORRIDOR + "AND r.seats >= :seats " + DEPARTURE_WINDOW)
+    Page<RideProjection> findRidesWithSeats(String source, String destination, Integer seats,
+                                            LocalDate firstDay, LocalDate lastDay,
+                                            Instant departureFrom, Instant departureTo, Pageable pageable);
 
     // Query method when seats criteria is not provided, defaults to rides with at least 1 available seat
-    @Query("SELECT r FROM Ride r WHERE r.source = :source AND r.destination = :destination AND r.seats >= 1")
-    Page<Ride> findRidesWithoutSeats(String source, String destination, Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(value = PROJECTION + CORRIDOR + "AND r.seats >= 1 " + DEPARTURE_WINDOW + DEPARTURE_ORDER,
+            countQuery = "SELECT COUNT(r) FROM Ride r " + CORRIDOR + "AND r.seats >= 1 " + DEPARTURE_WINDOW)
+    Page<RideProjection> findRidesWithoutSeats(String source, String destination, LocalDate firstDay, LocalDate lastDay,
+                                               Instant departureFrom, Instant departureTo, Pageable pageable);
+
+    // Keyset pagination on (departureAt, id); rides without a departure sort last, matching the route index
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + CORRIDOR + "AND r.seats >= :seats " + DEPARTURE_WINDOW + DEPARTURE_ORDER)
+    List<RideProjection> findRidesFirstPage(String source, String destination, Integer seats,
+                                            LocalDate firstDay, LocalDate lastDay,
+                                            Instant departureFrom, Instant departureTo, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + CORRIDOR + "AND r.seats >= :seats " +
+            "AND (r.departureAt > :departureAt OR (r.departureAt = :departureAt AND r.id > :id) OR r.departureAt IS NULL) " +
+            DEPARTURE_WINDOW + DEPARTURE_ORDER)
+    List<RideProjection> findRidesAfter(String source, String destination, Integer seats, Instant departureAt, String id,
+                                        LocalDate firstDay, LocalDate lastDay,
+                                        Instant departureFrom, Instant departureTo, Limit limit);
+
+    // Row-by-row cursor (MySQL streams result sets when the fetch size is Integer.MIN_VALUE); the caller must
+    // consume and close the stream inside its own read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(PROJECTION + CORRIDOR + "AND r.seats >= :seats " + DEPARTURE_WINDOW + DEPARTURE_ORDER)
+    Stream<RideProjection> streamRides(String source, String destination, Integer seats,
+                                       LocalDate firstDay, LocalDate lastDay,
+                                       Instant departureFrom, Instant departureTo);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + CORRIDOR + "AND r.seats >= :seats AND r.departureDay = :undatedDay AND r.departureAt IS NULL " +
+            "AND r.id > :id ORDER BY r.id ASC")
+    List<RideProjection> findUndatedRidesAfter(String source, String destination, Integer seats, LocalDate undatedDay,
+                                               String id, Limit limit);
+
+    // Bounding boxes around both points for radius searches; exact distances are checked by the caller
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "WHERE r.sourceLatitude BETWEEN :minSourceLatitude AND :maxSourceLatitude " +
+            "AND r.sourceLongitude BETWEEN :minSourceLongitude AND :maxSourceLongitude " +
+            "AND r.destinationLatitude BETWEEN :minDestinationLatitude AND :maxDestinationLatitude " +
+            "AND r.destinationLongitude BETWEEN :minDestinationLongitude AND :maxDestinationLongitude " +
+            "AND r.status = org.buildcode.ride_search_service.api.constants.RideStatus.CREATED " +
+            "AND r.seats >= :seats")
+    List<RideProjection> findRidesWithinBounds(double minSourceLatitude, double maxSourceLatitude,
+                                               double minSourceLongitude, double maxSourceLongitude,
+                                               double minDestinationLatitude, double maxDestinationLatitude,
+                                               double minDestinationLongitude, double maxDestinationLongitude,
+                                               Integer seats);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT COUNT(r) FROM Ride r " + CORRIDOR + "AND r.seats >= :seats " + DEPARTURE_WINDOW)
+    long countRides(String source, String destination, Integer seats, LocalDate firstDay, LocalDate lastDay,
+                    Instant departureFrom, Instant departureTo);
+
+    // Snapshot for the route index: open rides in the partitions that have not expired yet
+    @Transactional(readOnly = true)
+    List<Ride> findByStatusAndDepartureDayGreaterThanEqual(RideStatus status, LocalDate firstDay);
 }
@@ -0,0 +1,15 @@
+package org.buildcode.ride_search_service.repository;
+
+import org.buildcode.ride_search_service.data.entity.SavedSearch;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends CrudRepository<SavedSearch, String> {
+
+    List<SavedSearch> findByRiderIdOrderByCreatedAtDesc(String riderId);
+
+    long countByRiderId(String riderId);
+}
@@ -0,0 +1,64 @@
+package org.buildcode.ride_search_service.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.repository.RideRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills an empty SearchRides table with a few open rides for local testing. Only active with the dev profile,
+ * and runs before the search projection is loaded so the rides are searchable right away.
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class DevRideSeeder implements ApplicationRunner {
+
+    private static final String[][] ROUTES = {
+            {"MG Road", "Airport"},
+            {"Koramangala", "Whitefield"},
+            {"HSR Layout", "Electronic City"}
+    };
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rideRepository.count() > 0) {
+            return;
+        }
+
+        Instant firstDeparture = Instant.now().truncatedTo(ChronoUnit.HOURS).plus(Duration.ofHours(2));
+        List<Ride> rides = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String[] route = ROUTES[i % ROUTES.length];
+            Ride ride = new Ride();
+            ride.setSource(route[0]);
+            ride.setDestination(route[1]);
+            ride.setUserId("dev-driver-" + (i % 4));
+            ride.setCarModel(i % 2 == 0 ? "Swift" : "Innova");
+            ride.setSeats(1 + i % 4);
+            ride.setFare(150L + 50L * (i % 5));
+            ride.setDepartureAt(firstDeparture.plus(Duration.ofHours(3L * i)));
+            ride.setStatus(RideStatus.CREATED);
+            rides.add(ride);
+        }
+        rideRepository.saveAll(rides);
+        log.info("Seeded {} dev rides", rides.size());
+    }
+}
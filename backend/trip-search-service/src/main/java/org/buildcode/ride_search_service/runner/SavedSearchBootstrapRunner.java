@@ -0,0 +1,34 @@
+package org.buildcode.ride_search_service.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.service.SavedSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the saved searches before the matcher starts consuming new rides, so none are matched against an
+ * empty index.
+ */
+@Component
+@Slf4j
+public class SavedSearchBootstrapRunner implements ApplicationRunner {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Loading saved searches...");
+        savedSearchService.load();
+
+        log.info("Starting ride event consumer for saved search matching");
+        kafkaListenerEndpointRegistry.getListenerContainer(KafkaConstants.SAVED_SEARCH_LISTENER).start();
+    }
+}
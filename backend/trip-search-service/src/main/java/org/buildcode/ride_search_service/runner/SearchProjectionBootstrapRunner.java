@@ -0,0 +1,56 @@
+package org.buildcode.ride_search_service.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.data.entity.DepartureDay;
+import org.buildcode.ride_search_service.repository.RideRepository;
+import org.buildcode.ride_search_service.service.RouteIndexService;
+import org.buildcode.ride_search_service.service.SearchPartitionService;
+import org.buildcode.ride_search_service.service.SearchProjectionTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Loads the search projection from the SearchRides partitions that have not expired, then starts the ride
+ * event consumer, which replays the ride topics from their earliest retained offsets on top of the snapshot.
+ * Events the snapshot already reflects are skipped by their version, so the snapshot only has to be a
+ * consistent starting point, not a complete one. The index serves searches once the replay has caught up.
+ */
+@Component
+@Slf4j
+public class SearchProjectionBootstrapRunner implements ApplicationRunner {
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private RouteIndexService routeIndexService;
+
+    @Autowired
+    private SearchProjectionTracker searchProjectionTracker;
+
+    @Autowired
+    private SearchPartitionService searchPartitionService;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Loading search projection from SearchRides...");
+        Instant cutoff = searchPartitionService.cutoff();
+        routeIndexService.load(rideRepository.findByStatusAndDepartureDayGreaterThanEqual(
+                RideStatus.CREATED, DepartureDay.of(cutoff)));
+        routeIndexService.expireBefore(cutoff);
+        searchProjectionTracker.onBootstrapCompleted();
+
+        log.info("Starting ride event consumer for the search projection");
+        kafkaListenerEndpointRegistry.getListenerContainer(KafkaConstants.SEARCH_PROJECTION_LISTENER).start();
+    }
+}
@@ -1,32 +1,209 @@
 // src/main/java/org/buildcode/rideservice/service/RideSearchService.java
 package org.buildcode.ride_search_service.service;
 
+import org.buildcode.ride_search_service.api.model.v1_0.GeoPoint;
+import org.buildcode.ride_search_service.api.model.v1_0.LocationSuggestionModel;
+import org.buildcode.ride_search_service.api.model.v1_0.LocationSuggestionResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.RideScanRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchRequestModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideSearchResultResponseModel;
 import org.buildcode.ride_search_service.api.model.v1_0.RideDetails;
-import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.api.model.v1_0.SearchFacetsModel;
+import org.buildcode.ride_search_service.cache.SearchCacheKey;
+import org.buildcode.ride_search_service.cache.SearchResultCache;
+import org.buildcode.ride_search_service.data.dto.SearchCursor;
+import org.buildcode.ride_search_service.data.entity.DepartureDay;
+import org.buildcode.ride_search_service.data.projection.RideProjection;
+import org.buildcode.ride_search_service.data.mapper.RideMapper;
+import org.buildcode.ride_search_service.exception.IndexNotReadyException;
+import org.buildcode.ride_search_service.index.ColumnScan;
+import org.buildcode.ride_search_service.index.ColumnScanResult;
+import org.buildcode.ride_search_service.index.ColumnarRideSnapshot;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.buildcode.ride_search_service.index.EnRouteRide;
+import org.buildcode.ride_search_service.index.FacetCounts;
+import org.buildcode.ride_search_service.index.GeoCell;
+import org.buildcode.ride_search_service.index.IndexedRide;
+import org.buildcode.ride_search_service.index.LocationIndex;
+import org.buildcode.ride_search_service.index.LocationMatch;
+import org.buildcode.ride_search_service.index.LocationTrie;
+import org.buildcode.ride_search_service.index.NearbyRide;
+import org.buildcode.ride_search_service.index.RouteIndex;
+import org.buildcode.ride_search_service.index.RouteIndexPage;
+import org.buildcode.ride_search_service.ranking.RankingProfiles;
+import org.buildcode.ride_search_service.ranking.RankingWeights;
+import org.buildcode.ride_search_service.ranking.RideRanker;
+import org.buildcode.ride_search_service.ranking.TopK;
 import org.buildcode.ride_search_service.repository.RideRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 @Service
 public class RideSearchService {
 
+    private static final double DEFAULT_RADIUS_METERS = 1_000;
+
+    private static final double MAX_RADIUS_METERS = 50_000;
+
+    private static final double DEFAULT_DETOUR_METERS = 1_000;
+
+    private static final double MAX_DETOUR_METERS = 2_000;
+
+    private static final int MAX_BATCH_SIZE = 20;
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private static final int MAX_LOCATION_SUGGESTIONS = 3;
+
+    private static final int MAX_SCAN_RESULTS = 100;
+
+    // Ranked pages are cut from the top (page + 1) * size candidates, so deep ranked pages are refused
+    private static final int MAX_RANKED_RESULTS = 1_000;
+
     @Autowired
     private RideRepository rideRepository;
 
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Autowired
+    private RideMapper rideMapper;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private LocationIndex locationIndex;
+
+    @Autowired
+    private RankingProfiles rankingProfiles;
+
+    @Autowired
+    private LocationTrie locationTrie;
+
+    @Autowired
+    private ColumnarRideSnapshot columnarRideSnapshot;
+
+    @Autowired
+    private SearchExecutor searchExecutor;
+
     public RideSearchResultResponseModel searchRides(RideSearchRequestModel requestModel, int page, int size) {
+        DepartureWindow window = departureWindow(requestModel);
+        RankingWeights ranking = rankingWeights(requestModel, page, size);
+
+        // Radius and en-route searches are not tied to a corridor, so they bypass the corridor-invalidated cache
+        if (requestModel.isEnRouteSearch()) {
+            return searchEnRoute(requestModel, window, ranking, page, size);
+        }
+        if (requestModel.hasCoordinates()) {
+            return searchNearby(requestModel, window, ranking, page, size);
+        }
+
         // Validate only required fields
         if (requestModel.getSource() == null || requestModel.getDestination() == null) {
             throw new IllegalArgumentException("Source and destination are required fields");
         }
 
-        Page<Ride> ridesPage;
+        return withSuggestions(requestModel, searchResultCache.get(cacheKey(requestModel, window, ranking, page, size),
+                () -> searchCorridor(requestModel, window, ranking, page, size)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #searchRides(RideSearchRequestModel, int, int)}. Cache hits and searches
+     * answered by the route index complete on the calling thread, and identical searches in flight are joined
+     * without waiting. Only searches that need the database run on the {@link SearchExecutor}, which refuses
+     * them with {@link RejectedExecutionException} once it is saturated.
+     */
+    public CompletableFuture<RideSearchResultResponseModel> searchRidesAsync(RideSearchRequestModel requestModel,
+                                                                            int page, int size) {
+        DepartureWindow window = departureWindow(requestModel);
+        RankingWeights ranking = rankingWeights(requestModel, page, size);
+        boolean inMemory = routeIndex.isReady();
+
+        if (requestModel.isEnRouteSearch()) {
+            return CompletableFuture.completedFuture(searchEnRoute(requestModel, window, ranking, page, size));
+        }
+        if (requestModel.hasCoordinates()) {
+            return inMemory
+                    ? CompletableFuture.completedFuture(searchNearby(requestModel, window, ranking, page, size))
+                    : searchExecutor.supply(() -> searchNearby(requestModel, window, ranking, page, size));
+        }
+
+        if (requestModel.getSource() == null || requestModel.getDestination() == null) {
+            throw new IllegalArgumentException("Source and destination are required fields");
+        }
+
+        Executor executor = inMemory ? Runnable::run : searchExecutor::execute;
+        return searchResultCache.getAsync(cacheKey(requestModel, window, ranking, page, size), executor,
+                        () -> searchCorridor(requestModel, window, ranking, page, size))
+                .thenApply(result -> withSuggestions(requestModel, result));
+    }
+
+    private static SearchCacheKey cacheKey(RideSearchRequestModel requestModel, DepartureWindow window,
+                                           RankingWeights ranking, int page, int size) {
+        return SearchCacheKey.ofPage(requestModel.getSource(), requestModel.getDestination(), minSeats(requestModel),
+                window, page, size, ranking, requestModel.isFacetsRequested());
+    }
+
+    private RideSearchResultResponseModel searchCorridor(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                         RankingWeights ranking, int page, int size) {
+        return ranking != null && routeIndex.isReady()
+                ? searchRanked(requestModel, window, ranking, page, size)
+                : searchPage(requestModel, window, page, size);
+    }
+
+    // Walks the matching part of the corridor once, keeping only the best (page + 1) * size rides
+    private RideSearchResultResponseModel searchRanked(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                       RankingWeights ranking, int page, int size) {
+        TopK<IndexedRide> top = new TopK<>((page + 1) * size);
+        FacetCounts facets = requestModel.isFacetsRequested() ? new FacetCounts() : null;
+        long targetDepartureAt = targetDepartureAt(window);
+        Iterator<IndexedRide> candidates = routeIndex.stream(
+                requestModel.getSource(), requestModel.getDestination(), minSeats(requestModel), window).iterator();
+        while (candidates.hasNext()) {
+            IndexedRide ride = candidates.next();
+            top.offer(ride, RideRanker.score(ride, 0, targetDepartureAt, ranking));
+            if (facets != null) {
+                facets.add(ride);
+            }
+        }
+
+        List<IndexedRide> ranked = top.drainSorted();
+        int from = Math.min(page * size, ranked.size());
+        return toResponse(new RouteIndexPage(ranked.subList(from, ranked.size()), top.getOffered()), page, size, facets);
+    }
+
+    private RideSearchResultResponseModel searchPage(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                     int page, int size) {
+        // Serve from the in-memory route index once it has been loaded, the database is only a startup fallback
+        if (routeIndex.isReady()) {
+            return searchIndex(requestModel, window, page, size);
+        }
+
+        Page<RideProjection> ridesPage;
 
         // Use different repository queries depending on whether seats is provided
         if (requestModel.getSeats() != null) {
@@ -34,31 +211,31 @@ public class RideSearchService {
                     requestModel.getSource(),
                     requestModel.getDestination(),
                     requestModel.getSeats(),
+                    DepartureDay.first(window),
+                    DepartureDay.last(window),
+                    window.fromInstant(),
+                    window.toInstant(),
                     PageRequest.of(page, size)
             );
         } else {
             ridesPage = rideRepository.findRidesWithoutSeats(
                     requestModel.getSource(),
                     requestModel.getDestination(),
+                    DepartureDay.first(window),
+                    DepartureDay.last(window),
+                    window.fromInstant(),
+                    window.toInstant(),
                     PageRequest.of(page, size)
             );
         }
 
         // Populate response model based on found rides
         if (ridesPage.isEmpty()) {
-            return RideSearchResultResponseModel.builder()
-                    .status("No rides found")
-                    .rides(List.of())
-                    .build();
+            return noRidesFound();
         }
 
         List<RideDetails> rideDetailsList = ridesPage.stream()
-                .map(ride -> RideDetails.builder()
-                        .source(ride.getSource())
-                        .destination(ride.getDestination())
-                        .ownerId(ride.getUserId())
-                        .availableSeats(ride.getSeats())
-                        .build())
+                .map(rideMapper::toRideDetails)
                 .collect(Collectors.toList());
 
         return RideSearchResultResponseModel.builder()
@@ -70,4 +247,497 @@ public class RideSearchService {
                 .totalPages(ridesPage.getTotalPages())
                 .build();
     }
+
+    /**
+     * Runs several searches for the same page and returns their results in request order. Identical searches
+     * are answered once, and corridor searches differing only in seats share a single walk of the corridor.
+     */
+    public List<RideSearchResultResponseModel> searchRides(List<RideSearchRequestModel> requestModels, int page, int size) {
+        if (requestModels == null || requestModels.isEmpty()) {
+            throw new IllegalArgumentException("At least one search is required");
+        }
+        if (requestModels.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " searches can be batched");
+        }
+        if (size <= 0 || page < 0) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive");
+        }
+
+        // Seat thresholds wanted per corridor and window, keyed by the criteria with seats left out
+        List<RideSearchRequestModel> searches = new ArrayList<>(requestModels.size());
+        Map<SearchCacheKey, CorridorScan> scans = new HashMap<>();
+        for (RideSearchRequestModel search : requestModels) {
+            if (search == null) {
+                throw new IllegalArgumentException("Searches must not be null");
+            }
+            if (runsAlone(search)) {
+                searches.add(search);
+                continue;
+            }
+            if (search.getSource() == null || search.getDestination() == null) {
+                throw new IllegalArgumentException("Source and destination are required fields");
+            }
+            searches.add(search);
+            DepartureWindow window = departureWindow(search);
+            scans.computeIfAbsent(
+                    SearchCacheKey.ofPage(search.getSource(), search.getDestination(), 0, window, page, size),
+                    key -> new CorridorScan(search.getSource(), search.getDestination(), window)
+            ).minSeats.add(minSeats(search));
+        }
+
+        Map<Object, RideSearchResultResponseModel> answered = new HashMap<>();
+        List<RideSearchResultResponseModel> results = new ArrayList<>(searches.size());
+        for (RideSearchRequestModel requestModel : searches) {
+            if (runsAlone(requestModel)) {
+                RideSearchResultResponseModel result = answered.get(requestModel);
+                if (result == null) {
+                    result = searchRides(requestModel, page, size);
+                    answered.put(requestModel, result);
+                }
+                results.add(result);
+                continue;
+            }
+
+            DepartureWindow window = departureWindow(requestModel);
+            int minSeats = minSeats(requestModel);
+            SearchCacheKey key = SearchCacheKey.ofPage(
+                    requestModel.getSource(), requestModel.getDestination(), minSeats, window, page, size);
+            RideSearchResultResponseModel result = answered.get(key);
+            if (result == null) {
+                CorridorScan scan = scans.get(
+                        SearchCacheKey.ofPage(requestModel.getSource(), requestModel.getDestination(), 0, window, page, size));
+                result = searchResultCache.get(key, () -> routeIndex.isReady()
+                        ? toResponse(scan.pageFor(minSeats, page, size), page, size, null)
+                        : searchPage(requestModel, window, page, size));
+                answered.put(key, result);
+            }
+            results.add(withSuggestions(requestModel, result));
+        }
+        return results;
+    }
+
+    // Served from the location trie only, so suggestions are available before the route index has loaded
+    public LocationSuggestionResponseModel suggestLocations(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return LocationSuggestionResponseModel.builder()
+                .suggestions(locationTrie.suggest(prefix, limit).stream()
+                        .map(suggestion -> new LocationSuggestionModel(suggestion.getLocation(), suggestion.getRides()))
+                        .toList())
+                .build();
+    }
+
+    // Scans are answered from the columnar snapshot, which is filled together with the route index
+    public RideSearchResultResponseModel scanRides(RideScanRequestModel requestModel, int limit) {
+        if (limit < 0 || limit > MAX_SCAN_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 0 and " + MAX_SCAN_RESULTS);
+        }
+        if (!routeIndex.isReady()) {
+            throw new IndexNotReadyException("Ride scans are unavailable until the route index is loaded");
+        }
+        DepartureWindow window = DepartureWindow.of(toInstant(requestModel.getDepartureFrom()),
+                toInstant(requestModel.getDepartureTo()));
+        ColumnScanResult result = columnarRideSnapshot.scan(ColumnScan.builder()
+                .sources(requestModel.getSources() != null ? requestModel.getSources() : List.of())
+                .destinations(requestModel.getDestinations() != null ? requestModel.getDestinations() : List.of())
+                .window(window)
+                .minSeats(requestModel.getSeats() != null ? requestModel.getSeats() : 1)
+                .maxFare(requestModel.getMaxFare() != null ? requestModel.getMaxFare() : 0)
+                .build(), limit);
+        if (result.getMatched() == 0) {
+            return noRidesFound();
+        }
+        // A ride removed since the scan is left out of the page but not of the count
+        return RideSearchResultResponseModel.builder()
+                .status("success")
+                .rides(result.getRideIds().stream()
+                        .map(routeIndex::get)
+                        .filter(Objects::nonNull)
+                        .map(rideMapper::toRideDetails)
+                        .toList())
+                .size(limit)
+                .totalElements(result.getMatched())
+                .build();
+    }
+
+    /**
+     * Keyset variant of {@link #searchRides(RideSearchRequestModel, int, int)}: continues after the ride encoded
+     * in {@code cursor} (blank for the first page) and only counts the matches when {@code includeTotal} is set.
+     */
+    public RideSearchResultResponseModel searchRides(RideSearchRequestModel requestModel, String cursor, int size,
+                                                     boolean includeTotal) {
+        if (requestModel.getSource() == null || requestModel.getDestination() == null) {
+            throw new IllegalArgumentException("Source and destination are required fields");
+        }
+        if (requestModel.hasCoordinates()) {
+            throw new IllegalArgumentException("Cursor paging is not supported for radius searches");
+        }
+        if (requestModel.isRanked()) {
+            throw new IllegalArgumentException("Cursor paging is not supported for ranked searches");
+        }
+        if (requestModel.isFacetsRequested()) {
+            throw new IllegalArgumentException("Facets are not supported with cursor paging");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        int minSeats = minSeats(requestModel);
+        DepartureWindow window = departureWindow(requestModel);
+        SearchCacheKey key = SearchCacheKey.ofCursor(
+                requestModel.getSource(), requestModel.getDestination(), minSeats, window, cursor, size, includeTotal);
+        return withSuggestions(requestModel,
+                searchResultCache.get(key, () -> searchAfter(requestModel, minSeats, window, after, size, includeTotal)));
+    }
+
+    private RideSearchResultResponseModel searchAfter(RideSearchRequestModel requestModel, int minSeats,
+                                                      DepartureWindow window, SearchCursor after, int size,
+                                                      boolean includeTotal) {
+
+        // One extra row tells us whether another page exists without a COUNT query
+        List<RideDetails> rideDetailsList;
+        SearchCursor last;
+        boolean hasMore;
+        Long totalElements = null;
+        if (routeIndex.isReady()) {
+            IndexedRide probe = after == null ? null : IndexedRide.builder()
+                    .id(after.getRideId())
+                    .departureAt(after.getDepartureAt())
+                    .build();
+            List<IndexedRide> rides = routeIndex.searchAfter(
+                    requestModel.getSource(), requestModel.getDestination(), minSeats, window, probe, size + 1);
+            hasMore = rides.size() > size;
+            rides = hasMore ? rides.subList(0, size) : rides;
+            rideDetailsList = rides.stream().map(rideMapper::toRideDetails).collect(Collectors.toList());
+            last = rides.isEmpty() ? null : SearchCursor.after(rides.get(rides.size() - 1));
+            if (includeTotal) {
+                totalElements = routeIndex.count(
+                        requestModel.getSource(), requestModel.getDestination(), minSeats, window);
+            }
+        } else {
+            List<RideProjection> rides = findRidesAfter(requestModel, minSeats, window, after, size + 1);
+            hasMore = rides.size() > size;
+            rides = hasMore ? rides.subList(0, size) : rides;
+            rideDetailsList = rides.stream().map(rideMapper::toRideDetails).collect(Collectors.toList());
+            last = rides.isEmpty() ? null : SearchCursor.after(rideMapper.toIndexedRide(rides.get(rides.size() - 1)));
+            if (includeTotal) {
+                totalElements = rideRepository.countRides(requestModel.getSource(), requestModel.getDestination(),
+                        minSeats, DepartureDay.first(window), DepartureDay.last(window),
+                        window.fromInstant(), window.toInstant());
+            }
+        }
+
+        if (rideDetailsList.isEmpty()) {
+            return noRidesFound();
+        }
+
+        return RideSearchResultResponseModel.builder()
+                .status("success")
+                .rides(rideDetailsList)
+                .size(size)
+                .totalElements(totalElements)
+                .nextCursor(hasMore ? last.encode() : null)
+                .build();
+    }
+
+    private List<RideProjection> findRidesAfter(RideSearchRequestModel requestModel, int minSeats, DepartureWindow window,
+                                      SearchCursor after, int limit) {
+        if (after == null) {
+            return rideRepository.findRidesFirstPage(requestModel.getSource(), requestModel.getDestination(),
+                    minSeats, DepartureDay.first(window), DepartureDay.last(window),
+                    window.fromInstant(), window.toInstant(), Limit.of(limit));
+        }
+        if (!after.hasDeparture()) {
+            // Undated rides never fall inside a departure window
+            if (window.isBounded()) {
+                return List.of();
+            }
+            return rideRepository.findUndatedRidesAfter(requestModel.getSource(), requestModel.getDestination(),
+                    minSeats, DepartureDay.UNDATED, after.getRideId(), Limit.of(limit));
+        }
+        // Nothing before the cursor's day can follow it
+        Instant departureAt = Instant.ofEpochMilli(after.getDepartureAt());
+        LocalDate firstDay = DepartureDay.of(departureAt);
+        return rideRepository.findRidesAfter(
+                requestModel.getSource(),
+                requestModel.getDestination(),
+                minSeats,
+                departureAt,
+                after.getRideId(),
+                firstDay.isAfter(DepartureDay.first(window)) ? firstDay : DepartureDay.first(window),
+                DepartureDay.last(window),
+                window.fromInstant(),
+                window.toInstant(),
+                Limit.of(limit)
+        );
+    }
+
+    private RideSearchResultResponseModel searchIndex(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                      int page, int size) {
+        FacetCounts facets = requestModel.isFacetsRequested() ? new FacetCounts() : null;
+        RouteIndexPage ridesPage = routeIndex.search(
+                requestModel.getSource(),
+                requestModel.getDestination(),
+                minSeats(requestModel),
+                window,
+                page * size,
+                size,
+                facets
+        );
+        return toResponse(ridesPage, page, size, facets);
+    }
+
+    private RideSearchResultResponseModel toResponse(RouteIndexPage ridesPage, int page, int size, FacetCounts facets) {
+        if (ridesPage.getRides().isEmpty()) {
+            return noRidesFound();
+        }
+
+        List<RideDetails> rideDetailsList = ridesPage.getRides().stream()
+                .map(rideMapper::toRideDetails)
+                .collect(Collectors.toList());
+
+        return RideSearchResultResponseModel.builder()
+                .status("success")
+                .rides(rideDetailsList)
+                .page(page)
+                .size(size)
+                .totalElements(ridesPage.getTotalElements())
+                .totalPages(size == 0 ? 1 : (int) Math.ceil((double) ridesPage.getTotalElements() / size))
+                .facets(facets != null ? rideMapper.toSearchFacets(facets) : null)
+                .build();
+    }
+
+    private RideSearchResultResponseModel searchNearby(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                       RankingWeights ranking, int page, int size) {
+        if (size <= 0 || page < 0) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive");
+        }
+        double radius = requestModel.getRadiusMeters() != null ? requestModel.getRadiusMeters() : DEFAULT_RADIUS_METERS;
+        if (radius <= 0 || radius > MAX_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 1 and " + MAX_RADIUS_METERS + " meters");
+        }
+
+        GeoPoint pickup = requestModel.getSourceLocation();
+        GeoPoint dropOff = requestModel.getDestinationLocation();
+        List<NearbyRide> matches;
+        if (routeIndex.isReady()) {
+            matches = routeIndex.searchNearby(pickup.getLatitude(), pickup.getLongitude(),
+                    dropOff.getLatitude(), dropOff.getLongitude(), radius, minSeats(requestModel), window);
+        } else {
+            matches = findNearby(pickup, dropOff, radius, minSeats(requestModel), window);
+        }
+
+        List<NearbyRide> ranked = ranking == null ? matches
+                : rank(matches, NearbyRide::getRide, NearbyRide::getCombinedDistance, window, ranking, page, size);
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        if (from == to) {
+            return noRidesFound();
+        }
+
+        List<RideDetails> rideDetailsList = ranked.subList(from, to).stream()
+                .map(rideMapper::toRideDetails)
+                .collect(Collectors.toList());
+
+        return RideSearchResultResponseModel.builder()
+                .status("success")
+                .rides(rideDetailsList)
+                .page(page)
+                .size(size)
+                .totalElements((long) matches.size())
+                .totalPages((int) Math.ceil((double) matches.size() / size))
+                .facets(requestModel.isFacetsRequested() ? facets(matches, NearbyRide::getRide) : null)
+                .build();
+    }
+
+    // Routes are only held by the index, there is no database fallback for en-route matching
+    private RideSearchResultResponseModel searchEnRoute(RideSearchRequestModel requestModel, DepartureWindow window,
+                                                        RankingWeights ranking, int page, int size) {
+        if (size <= 0 || page < 0) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive");
+        }
+        double maxDetour = requestModel.getMaxDetourMeters() != null
+                ? requestModel.getMaxDetourMeters()
+                : DEFAULT_DETOUR_METERS;
+        if (maxDetour <= 0 || maxDetour > MAX_DETOUR_METERS) {
+            throw new IllegalArgumentException("Detour must be between 1 and " + MAX_DETOUR_METERS + " meters");
+        }
+        if (!routeIndex.isReady()) {
+            throw new IndexNotReadyException("En-route search is unavailable until the route index is loaded");
+        }
+
+        GeoPoint pickup = requestModel.getSourceLocation();
+        GeoPoint dropOff = requestModel.getDestinationLocation();
+        List<EnRouteRide> matches = routeIndex.searchEnRoute(pickup.getLatitude(), pickup.getLongitude(),
+                dropOff.getLatitude(), dropOff.getLongitude(), maxDetour, minSeats(requestModel), window);
+
+        List<EnRouteRide> ranked = ranking == null ? matches
+                : rank(matches, EnRouteRide::getRide, EnRouteRide::getDetourMeters, window, ranking, page, size);
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        if (from == to) {
+            return noRidesFound();
+        }
+
+        List<RideDetails> rideDetailsList = ranked.subList(from, to).stream()
+                .map(rideMapper::toRideDetails)
+                .collect(Collectors.toList());
+
+        return RideSearchResultResponseModel.builder()
+                .status("success")
+                .rides(rideDetailsList)
+                .page(page)
+                .size(size)
+                .totalElements((long) matches.size())
+                .totalPages((int) Math.ceil((double) matches.size() / size))
+                .facets(requestModel.isFacetsRequested() ? facets(matches, EnRouteRide::getRide) : null)
+                .build();
+    }
+
+    private List<NearbyRide> findNearby(GeoPoint pickup, GeoPoint dropOff, double radius, int minSeats,
+                                        DepartureWindow window) {
+        double latitudeDelta = GeoCell.latitudeDelta(radius);
+        double pickupLongitudeDelta = GeoCell.longitudeDelta(pickup.getLatitude(), radius);
+        double dropOffLongitudeDelta = GeoCell.longitudeDelta(dropOff.getLatitude(), radius);
+
+        List<RideProjection> rides = rideRepository.findRidesWithinBounds(
+                pickup.getLatitude() - latitudeDelta, pickup.getLatitude() + latitudeDelta,
+                pickup.getLongitude() - pickupLongitudeDelta, pickup.getLongitude() + pickupLongitudeDelta,
+                dropOff.getLatitude() - latitudeDelta, dropOff.getLatitude() + latitudeDelta,
+                dropOff.getLongitude() - dropOffLongitudeDelta, dropOff.getLongitude() + dropOffLongitudeDelta,
+                minSeats
+        );
+
+        return rides.stream()
+                .map(rideMapper::toIndexedRide)
+                .filter(ride -> window.contains(ride.getDepartureAt()))
+                .map(ride -> NearbyRide.match(ride, pickup.getLatitude(), pickup.getLongitude(),
+                        dropOff.getLatitude(), dropOff.getLongitude(), radius))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(NearbyRide::getCombinedDistance))
+                .collect(Collectors.toList());
+    }
+
+    // Seat thresholds requested for one corridor and window; the corridor is walked once, on the first cache miss
+    private final class CorridorScan {
+
+        private final String source;
+
+        private final String destination;
+
+        private final DepartureWindow window;
+
+        private final Set<Integer> minSeats = new LinkedHashSet<>();
+
+        private Map<Integer, RouteIndexPage> pages;
+
+        private CorridorScan(String source, String destination, DepartureWindow window) {
+            this.source = source;
+            this.destination = destination;
+            this.window = window;
+        }
+
+        private RouteIndexPage pageFor(int seats, int page, int size) {
+            if (pages == null) {
+                int[] thresholds = minSeats.stream().mapToInt(Integer::intValue).toArray();
+                List<RouteIndexPage> scanned = routeIndex.search(source, destination, thresholds, window, page * size, size);
+                pages = new HashMap<>();
+                for (int i = 0; i < thresholds.length; i++) {
+                    pages.put(thresholds[i], scanned.get(i));
+                }
+            }
+            return pages.get(seats);
+        }
+    }
+
+    // Radius and en-route searches already hold every match, so their facets are counted over that list
+    private <T> SearchFacetsModel facets(List<T> matches, Function<T, IndexedRide> ride) {
+        FacetCounts facets = new FacetCounts();
+        for (T match : matches) {
+            facets.add(ride.apply(match));
+        }
+        return rideMapper.toSearchFacets(facets);
+    }
+
+    // Best (page + 1) * size matches by ranking score, best first
+    private static <T> List<T> rank(List<T> matches, Function<T, IndexedRide> ride, ToDoubleFunction<T> detourMeters,
+                                    DepartureWindow window, RankingWeights ranking, int page, int size) {
+        TopK<T> top = new TopK<>((page + 1) * size);
+        long targetDepartureAt = targetDepartureAt(window);
+        for (T match : matches) {
+            top.offer(match, RideRanker.score(ride.apply(match), detourMeters.applyAsDouble(match), targetDepartureAt, ranking));
+        }
+        return top.drainSorted();
+    }
+
+    // Searches that do not read a corridor page in departure order run on their own in a batch
+    private static boolean runsAlone(RideSearchRequestModel requestModel) {
+        return requestModel.hasCoordinates() || requestModel.isRanked() || requestModel.isFacetsRequested();
+    }
+
+    // Null when the search keeps departure order
+    private RankingWeights rankingWeights(RideSearchRequestModel requestModel, int page, int size) {
+        if (!requestModel.isRanked()) {
+            return null;
+        }
+        if (size <= 0 || page < 0 || (long) (page + 1) * size > MAX_RANKED_RESULTS) {
+            throw new IllegalArgumentException("Ranked searches are limited to the first " + MAX_RANKED_RESULTS + " results");
+        }
+        return rankingProfiles.resolve(requestModel.getRankBy(), requestModel.getRankingWeights());
+    }
+
+    // Rides are ranked by closeness to the start of the requested window, or to now
+    private static long targetDepartureAt(DepartureWindow window) {
+        return window.getFrom() != Long.MIN_VALUE ? window.getFrom() : System.currentTimeMillis();
+    }
+
+    // Locations are searched as given; known names resembling an unknown one are offered, never substituted.
+    // Added outside the cache since the vocabulary grows without invalidating the corridors cached so far.
+    private RideSearchResultResponseModel withSuggestions(RideSearchRequestModel requestModel,
+                                                          RideSearchResultResponseModel result) {
+        if (!routeIndex.isReady()) {
+            return result;
+        }
+        List<String> sourceSuggestions = suggestLocations(requestModel.getSource());
+        List<String> destinationSuggestions = suggestLocations(requestModel.getDestination());
+        if (sourceSuggestions == null && destinationSuggestions == null) {
+            return result;
+        }
+        return result.toBuilder()
+                .sourceSuggestions(sourceSuggestions)
+                .destinationSuggestions(destinationSuggestions)
+                .build();
+    }
+
+    // Null rather than empty so that the field is left out of the response
+    private List<String> suggestLocations(String location) {
+        List<String> names = locationIndex.suggest(location, MAX_LOCATION_SUGGESTIONS).stream()
+                .map(LocationMatch::getName)
+                .toList();
+        return names.isEmpty() ? null : names;
+    }
+
+    static DepartureWindow departureWindow(RideSearchRequestModel requestModel) {
+        return DepartureWindow.of(toInstant(requestModel.getDepartureFrom()), toInstant(requestModel.getDepartureTo()));
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    static int minSeats(RideSearchRequestModel requestModel) {
+        return requestModel.getSeats() != null ? requestModel.getSeats() : 1;
+    }
+
+    private static RideSearchResultResponseModel noRidesFound() {
+        return RideSearchResultResponseModel.builder()
+                .status("No rides found")
+                .rides(List.of())
+                .build();
+    }
 }
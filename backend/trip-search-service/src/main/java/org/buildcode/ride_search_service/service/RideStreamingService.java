@@ -0,0 +1,105 @@
+package org.buildcode.ride_search_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.model.v1_0.RideDetails;
+import org.buildcode.ride_search_service.api.model.v1_0.RideSearchRequestModel;
+import org.buildcode.ride_search_service.data.entity.DepartureDay;
+import org.buildcode.ride_search_service.data.mapper.RideMapper;
+import org.buildcode.ride_search_service.data.projection.RideProjection;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.buildcode.ride_search_service.index.RouteIndex;
+import org.buildcode.ride_search_service.repository.RideRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every ride matching a corridor search as newline-delimited JSON while it is read, instead of
+ * building the full result list. Memory per request stays at one ride plus the response buffer.
+ */
+@Service
+@Slf4j
+public class RideStreamingService {
+
+    // Flushed after the first ride so it reaches the client straight away, then in batches
+    private static final int FLUSH_EVERY = 100;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Autowired
+    private RideMapper rideMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Validation happens here, before the response is committed; the returned body does the reading
+    public StreamingResponseBody streamRides(RideSearchRequestModel requestModel) {
+        if (requestModel.getSource() == null || requestModel.getDestination() == null) {
+            throw new IllegalArgumentException("Source and destination are required fields");
+        }
+        if (requestModel.hasCoordinates()) {
+            throw new IllegalArgumentException("Streaming is not supported for radius searches");
+        }
+        if (requestModel.isRanked()) {
+            throw new IllegalArgumentException("Streaming is not supported for ranked searches");
+        }
+
+        int minSeats = RideSearchService.minSeats(requestModel);
+        DepartureWindow window = RideSearchService.departureWindow(requestModel);
+
+        String source = requestModel.getSource();
+        String destination = requestModel.getDestination();
+
+        if (routeIndex.isReady()) {
+            return outputStream -> write(
+                    routeIndex.stream(source, destination, minSeats, window).map(rideMapper::toRideDetails), outputStream);
+        }
+
+        return outputStream -> {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<RideProjection> rides = rideRepository.streamRides(
+                        source, destination, minSeats, DepartureDay.first(window), DepartureDay.last(window),
+                        window.fromInstant(), window.toInstant())) {
+                    write(rides.map(rideMapper::toRideDetails), outputStream);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+    }
+
+    private void write(Stream<RideDetails> rides, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(RideDetails.class);
+        int written = 0;
+        Iterator<RideDetails> iterator = rides.iterator();
+        while (iterator.hasNext()) {
+            outputStream.write(writer.writeValueAsBytes(iterator.next()));
+            outputStream.write('\n');
+            written++;
+            if (written == 1 || written % FLUSH_EVERY == 0) {
+                outputStream.flush();
+            }
+        }
+        outputStream.flush();
+        log.debug("Streamed {} rides", written);
+    }
+}
@@ -0,0 +1,192 @@
+package org.buildcode.ride_search_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.cache.SearchResultCache;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.entity.DepartureDay;
+import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.data.mapper.RideMapper;
+import org.buildcode.ride_search_service.index.ColumnarRideSnapshot;
+import org.buildcode.ride_search_service.index.IndexedRide;
+import org.buildcode.ride_search_service.index.LocationIndex;
+import org.buildcode.ride_search_service.index.LocationTrie;
+import org.buildcode.ride_search_service.index.RouteIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class RouteIndexService {
+
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Autowired
+    private RideMapper rideMapper;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private LocationIndex locationIndex;
+
+    @Autowired
+    private LocationTrie locationTrie;
+
+    @Autowired
+    private ColumnarRideSnapshot columnarRideSnapshot;
+
+    // Last indexed state of rides taken out of the index, so that replayed older events do not bring them back
+    private final Map<String, IndexedRide> removedRides = new ConcurrentHashMap<>();
+
+    // Departure days before this one have been expired, null until the first expiry
+    private volatile LocalDate firstLiveDay;
+
+    public void load(Iterable<Ride> rides) {
+        int loaded = 0;
+        for (Ride ride : rides) {
+            if (ride.getStatus() == null || ride.getStatus() == RideStatus.CREATED) {
+                IndexedRide indexedRide = rideMapper.toIndexedRide(ride);
+                IndexedRide previous = routeIndex.upsert(indexedRide);
+                if (previous != null) {
+                    removeLocations(previous);
+                }
+                addLocations(indexedRide);
+                columnarRideSnapshot.upsert(indexedRide);
+                loaded++;
+            }
+        }
+        routeIndex.markReady();
+        searchResultCache.invalidateAll();
+        log.info("Route index loaded with {} rides over {} locations", loaded, locationIndex.size());
+    }
+
+    // Drops the index day partitions that ended before the cutoff, together with their cached results
+    public void expireBefore(Instant cutoff) {
+        firstLiveDay = DepartureDay.of(cutoff);
+        List<IndexedRide> expired = routeIndex.expireBefore(cutoff.toEpochMilli());
+        for (IndexedRide ride : expired) {
+            searchResultCache.invalidate(RouteIndex.routeKey(ride));
+            removeLocations(ride);
+            columnarRideSnapshot.remove(ride.getId());
+        }
+        removedRides.values().removeIf(ride -> ride.getDepartureAt() < cutoff.toEpochMilli());
+        if (!expired.isEmpty()) {
+            log.info("Expired {} departed rides from the route index", expired.size());
+        }
+    }
+
+    public void onRideCreated(RideEventPayload payload) {
+        if (payload.getId() == null || payload.getSource() == null || payload.getDestination() == null) {
+            log.warn("Skipping ride created event without id, source or destination: {}", payload);
+            return;
+        }
+        // Created events carry no version; every versioned change of the ride comes after them
+        if (appliedVersion(payload.getId()) > 0) {
+            log.debug("Ride {} has changed since it was created, ignoring the replayed created event", payload.getId());
+            return;
+        }
+        if (!isSearchable(payload)) {
+            remove(payload.getId(), 0);
+            return;
+        }
+        upsert(rideMapper.toIndexedRide(payload));
+    }
+
+    public void onRideUpdated(RideEventPayload payload) {
+        if (payload.getId() == null) {
+            log.warn("Skipping ride updated event without ride id: {}", payload);
+            return;
+        }
+        // Events of rides published before versions were added are applied in arrival order
+        long version = payload.getVersion() != null ? payload.getVersion() : 0;
+        if (version > 0 && version <= appliedVersion(payload.getId())) {
+            log.debug("Ride {} is already past version {}, ignoring the update", payload.getId(), version);
+            return;
+        }
+        if (!isSearchable(payload)) {
+            remove(payload.getId(), version);
+            return;
+        }
+
+        IndexedRide existing = routeIndex.get(payload.getId());
+        if (existing != null) {
+            upsert(rideMapper.merge(existing, payload));
+        } else if (payload.getSource() != null && payload.getDestination() != null) {
+            upsert(rideMapper.toIndexedRide(payload));
+        } else {
+            log.debug("Ride {} is not indexed and the update carries no route, ignoring", payload.getId());
+        }
+    }
+
+    // Cached results are dropped for the corridor the ride left and the one it joined.
+    // Rides of expired departure days, such as those met again while replaying the topics, are not indexed.
+    private void upsert(IndexedRide ride) {
+        if (hasExpired(ride)) {
+            remove(ride.getId(), ride.getVersion());
+            return;
+        }
+        IndexedRide previous = routeIndex.upsert(ride);
+        if (previous != null) {
+            searchResultCache.invalidate(RouteIndex.routeKey(previous));
+            removeLocations(previous);
+        }
+        searchResultCache.invalidate(RouteIndex.routeKey(ride));
+        addLocations(ride);
+        columnarRideSnapshot.upsert(ride);
+        removedRides.remove(ride.getId());
+    }
+
+    private void addLocations(IndexedRide ride) {
+        locationIndex.add(ride.getSource());
+        locationIndex.add(ride.getDestination());
+        locationTrie.add(ride.getSource());
+        locationTrie.add(ride.getDestination());
+    }
+
+    // Only the autocomplete weights go down; the fuzzy vocabulary keeps every name it has seen
+    private void removeLocations(IndexedRide ride) {
+        locationTrie.remove(ride.getSource());
+        locationTrie.remove(ride.getDestination());
+    }
+
+    private void remove(String rideId, long version) {
+        IndexedRide previous = routeIndex.remove(rideId);
+        if (previous != null) {
+            searchResultCache.invalidate(RouteIndex.routeKey(previous));
+            removeLocations(previous);
+            long removedAt = Math.max(previous.getVersion(), version);
+            if (removedAt > 0) {
+                removedRides.put(rideId, previous.toBuilder().version(removedAt).build());
+            }
+        }
+        columnarRideSnapshot.remove(rideId);
+    }
+
+    private boolean hasExpired(IndexedRide ride) {
+        LocalDate firstLive = firstLiveDay;
+        return firstLive != null && ride.getDepartureAt() != IndexedRide.UNKNOWN_DEPARTURE
+                && DepartureDay.of(Instant.ofEpochMilli(ride.getDepartureAt())).isBefore(firstLive);
+    }
+
+    // Version of the last change applied to the ride, whether it is still indexed or was removed; 0 when not known
+    private long appliedVersion(String rideId) {
+        IndexedRide ride = routeIndex.get(rideId);
+        if (ride == null) {
+            ride = removedRides.get(rideId);
+        }
+        return ride != null ? ride.getVersion() : 0;
+    }
+
+    private static boolean isSearchable(RideEventPayload payload) {
+        RideStatus status = RideStatus.fromEventStatus(payload.getStatus());
+        return status == null || status == RideStatus.CREATED;
+    }
+}
@@ -0,0 +1,128 @@
+package org.buildcode.ride_search_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.events.codec.EventCodecs;
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchListResponseModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchModel;
+import org.buildcode.ride_search_service.api.model.v1_0.SavedSearchRequestModel;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.dto.SavedSearchProperties;
+import org.buildcode.ride_search_service.data.entity.SavedSearch;
+import org.buildcode.ride_search_service.data.mapper.RideMapper;
+import org.buildcode.ride_search_service.data.mapper.SavedSearchMapper;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.buildcode.ride_search_service.index.IndexedRide;
+import org.buildcode.ride_search_service.index.StandingQuery;
+import org.buildcode.ride_search_service.index.StandingQueryIndex;
+import org.buildcode.ride_search_service.repository.SavedSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Saved searches are stored in SavedSearches and mirrored into the {@link StandingQueryIndex}; every new ride
+ * is matched against the index and each match is published for the notification service.
+ */
+@Service
+@Slf4j
+public class SavedSearchService {
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private StandingQueryIndex standingQueryIndex;
+
+    @Autowired
+    private SavedSearchMapper savedSearchMapper;
+
+    @Autowired
+    private RideMapper rideMapper;
+
+    @Autowired
+    private SavedSearchProperties savedSearchProperties;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    public SavedSearchModel createSavedSearch(SavedSearchRequestModel requestModel) {
+        if (requestModel.getRiderId() == null || requestModel.getRiderId().isBlank()) {
+            throw new IllegalArgumentException("Rider id is required");
+        }
+        if (requestModel.getSource() == null || requestModel.getSource().isBlank()
+                || requestModel.getDestination() == null || requestModel.getDestination().isBlank()) {
+            throw new IllegalArgumentException("Source and destination are required fields");
+        }
+        if (requestModel.getSeats() != null && requestModel.getSeats() <= 0) {
+            throw new IllegalArgumentException("Seats must be positive");
+        }
+        if (savedSearchRepository.countByRiderId(requestModel.getRiderId()) >= savedSearchProperties.getMaxPerRider()) {
+            throw new IllegalArgumentException("A rider can keep at most " + savedSearchProperties.getMaxPerRider()
+                    + " saved searches");
+        }
+
+        SavedSearch savedSearch = savedSearchMapper.toSavedSearch(requestModel);
+        DepartureWindow.of(savedSearch.getDepartureFrom(), savedSearch.getDepartureTo());
+        savedSearch = savedSearchRepository.save(savedSearch);
+        standingQueryIndex.register(savedSearchMapper.toStandingQuery(savedSearch));
+        return savedSearchMapper.toSavedSearchModel(savedSearch);
+    }
+
+    public SavedSearchListResponseModel getSavedSearches(String riderId) {
+        if (riderId == null || riderId.isBlank()) {
+            throw new IllegalArgumentException("Rider id is required");
+        }
+        return SavedSearchListResponseModel.builder()
+                .savedSearches(savedSearchRepository.findByRiderIdOrderByCreatedAtDesc(riderId).stream()
+                        .map(savedSearchMapper::toSavedSearchModel)
+                        .toList())
+                .build();
+    }
+
+    public void deleteSavedSearch(String savedSearchId, String riderId) {
+        SavedSearch savedSearch = savedSearchRepository.findById(savedSearchId)
+                .filter(existing -> existing.getRiderId().equals(riderId))
+                .orElseThrow(() -> new NoSuchElementException("Saved search " + savedSearchId + " not found"));
+        savedSearchRepository.delete(savedSearch);
+        standingQueryIndex.unregister(savedSearchId);
+    }
+
+    // Also picks up saved searches created or deleted through other instances
+    @Scheduled(fixedDelayString = "#{@savedSearchProperties.refreshInterval.toMillis()}",
+            initialDelayString = "#{@savedSearchProperties.refreshInterval.toMillis()}")
+    public void load() {
+        List<StandingQuery> queries = new ArrayList<>();
+        for (SavedSearch savedSearch : savedSearchRepository.findAll()) {
+            queries.add(savedSearchMapper.toStandingQuery(savedSearch));
+        }
+        standingQueryIndex.replaceAll(queries);
+        log.debug("Standing query index holds {} saved searches", standingQueryIndex.size());
+    }
+
+    public void onRideCreated(RideEventPayload payload) {
+        if (payload.getId() == null || payload.getSource() == null || payload.getDestination() == null) {
+            return;
+        }
+        RideStatus status = RideStatus.fromEventStatus(payload.getStatus());
+        if (status != null && status != RideStatus.CREATED) {
+            return;
+        }
+
+        IndexedRide ride = rideMapper.toIndexedRide(payload);
+        for (StandingQuery query : standingQueryIndex.match(ride)) {
+            // Drivers are not told about their own rides
+            if (query.getRiderId().equals(payload.getOwnerId())) {
+                continue;
+            }
+            kafkaTemplate.send(KafkaConstants.SEND_NOTIFICATION_TOPIC, query.getRiderId(),
+                    EventCodecs.NOTIFICATION.encode(savedSearchMapper.toMatchEvent(query, payload)));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.buildcode.ride_search_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.buildcode.ride_search_service.data.dto.SearchPartitionProperties;
+import org.buildcode.ride_search_service.data.entity.DepartureDay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Keeps search storage bounded to the departure days that can still be searched. Expired days are dropped
+ * whole: from the route index on every run, and from the search_rides table (as DROP PARTITION, which does
+ * not touch the remaining rows) when {@code search.partitions.manage-database} is enabled.
+ */
+@Service
+@Slf4j
+public class SearchPartitionService {
+
+    private static final String TABLE = "search_rides";
+
+    private static final String OPEN_PARTITION = "pmax";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    @Autowired
+    private SearchPartitionProperties searchPartitionProperties;
+
+    @Autowired
+    private RouteIndexService routeIndexService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Scheduled(fixedDelayString = "#{@searchPartitionProperties.maintenanceInterval.toMillis()}",
+            initialDelayString = "#{@searchPartitionProperties.maintenanceInterval.toMillis()}")
+    public void maintain() {
+        Instant cutoff = cutoff();
+        routeIndexService.expireBefore(cutoff);
+        if (searchPartitionProperties.isManageDatabase()) {
+            maintainTable(DepartureDay.of(cutoff));
+        }
+    }
+
+    // Rides departing before this instant are no longer kept
+    public Instant cutoff() {
+        return Instant.now().minus(searchPartitionProperties.getRetention());
+    }
+
+    private void maintainTable(LocalDate firstLiveDay) {
+        List<LocalDate> days = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION", String.class, TABLE)) {
+            LocalDate day = partitionDay(name);
+            if (day != null) {
+                days.add(day);
+            }
+        }
+        if (days.isEmpty() && !hasOpenPartition()) {
+            log.warn("Table {} is not partitioned, apply db/search_rides_partitioning.sql first", TABLE);
+            return;
+        }
+
+        StringJoiner expired = new StringJoiner(", ");
+        for (LocalDate day : days) {
+            if (day.isBefore(firstLiveDay)) {
+                expired.add(PARTITION_NAME.format(day));
+            }
+        }
+        if (expired.length() > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + expired);
+            log.info("Dropped expired search partitions {}", expired);
+        }
+
+        // Daily partitions are split off the open-ended one, which only holds undated and far-off rides
+        LocalDate next = days.isEmpty() ? firstLiveDay : days.get(days.size() - 1).plusDays(1);
+        if (next.isBefore(firstLiveDay)) {
+            next = firstLiveDay;
+        }
+        LocalDate last = LocalDate.now(ZoneOffset.UTC).plusDays(searchPartitionProperties.getPrecreateDays());
+        if (next.isAfter(last)) {
+            return;
+        }
+        StringJoiner partitions = new StringJoiner(", ");
+        for (LocalDate day = next; !day.isAfter(last); day = day.plusDays(1)) {
+            partitions.add("PARTITION " + PARTITION_NAME.format(day) + " VALUES LESS THAN ('" + day.plusDays(1) + "')");
+        }
+        partitions.add("PARTITION " + OPEN_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + OPEN_PARTITION
+                + " INTO (" + partitions + ")");
+        log.info("Added search partitions from {} to {}", next, last);
+    }
+
+    private boolean hasOpenPartition() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME = ?",
+                Integer.class, TABLE, OPEN_PARTITION);
+        return count != null && count > 0;
+    }
+
+    private static LocalDate partitionDay(String name) {
+        try {
+            return LocalDate.parse(name, PARTITION_NAME);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
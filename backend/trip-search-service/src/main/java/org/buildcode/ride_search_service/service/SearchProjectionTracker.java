@@ -0,0 +1,114 @@
+package org.buildcode.ride_search_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks how far the search projection is behind the ride topics. On assignment every partition is
+ * replayed from its earliest retained offset and its current end offset is recorded; the projection
+ * is caught up once every partition has been consumed up to that offset. Replaying everything rather
+ * than the tail after the SearchRides snapshot keeps the projection complete when that table lags behind.
+ */
+@Component
+@Slf4j
+public class SearchProjectionTracker {
+
+    private final Map<TopicPartition, Long> targetOffsets = new ConcurrentHashMap<>();
+
+    private final Set<TopicPartition> laggingPartitions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean bootstrapped;
+
+    private volatile boolean assigned;
+
+    public void onBootstrapCompleted() {
+        this.bootstrapped = true;
+    }
+
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+        for (TopicPartition partition : partitions) {
+            long end = endOffsets.getOrDefault(partition, 0L);
+            long start = beginningOffsets.getOrDefault(partition, end);
+
+            consumer.seek(partition, start);
+            targetOffsets.put(partition, end);
+            if (start < end) {
+                laggingPartitions.add(partition);
+            } else {
+                laggingPartitions.remove(partition);
+            }
+        }
+        assigned = true;
+        log.info("Search projection assigned {} partitions, {} behind", partitions.size(), laggingPartitions.size());
+    }
+
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        forget(partitions);
+    }
+
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        forget(partitions);
+    }
+
+    /**
+     * Listener for the projection's own container factory. The tracker is deliberately not a rebalance listener
+     * bean itself: Spring Boot installs a unique one on the default factory, and with it on every other listener.
+     */
+    public ConsumerAwareRebalanceListener rebalanceListener() {
+        return new ConsumerAwareRebalanceListener() {
+
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                SearchProjectionTracker.this.onPartitionsAssigned(consumer, partitions);
+            }
+
+            @Override
+            public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                SearchProjectionTracker.this.onPartitionsRevokedAfterCommit(consumer, partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                SearchProjectionTracker.this.onPartitionsLost(consumer, partitions);
+            }
+        };
+    }
+
+    public void onRecordProcessed(String topic, int partition, long offset) {
+        if (laggingPartitions.isEmpty()) {
+            return;
+        }
+        TopicPartition topicPartition = new TopicPartition(topic, partition);
+        Long target = targetOffsets.get(topicPartition);
+        if (target != null && offset + 1 >= target && laggingPartitions.remove(topicPartition)
+                && laggingPartitions.isEmpty()) {
+            log.info("Search projection caught up with the ride topics");
+        }
+    }
+
+    public boolean isCaughtUp() {
+        return bootstrapped && assigned && laggingPartitions.isEmpty();
+    }
+
+    public int getLaggingPartitionCount() {
+        return laggingPartitions.size();
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(partition -> {
+            targetOffsets.remove(partition);
+            laggingPartitions.remove(partition);
+        });
+    }
+}
@@ -0,0 +1,24 @@
+-- Partitions search_rides by UTC departure day (see DepartureDay) so that searches only open the days
+-- their departure window covers and expired days can be dropped as a metadata operation.
+-- Run once with the search service stopped, then set search.partitions.manage-database=true:
+-- SearchPartitionService keeps search.partitions.precreate-days partitions ahead of today and drops
+-- the ones older than search.partitions.retention.
+
+-- Hibernate adds departure_day on startup; backfill it for rows written before it existed.
+-- departure_at holds UTC timestamps, rides without a departure go to the open-ended last partition.
+UPDATE search_rides
+SET departure_day = COALESCE(DATE(departure_at), '9999-12-31')
+WHERE departure_day IS NULL OR departure_day = '0000-00-00';
+
+-- Every unique key of a partitioned table must contain the partitioning column
+ALTER TABLE search_rides
+    MODIFY departure_day DATE NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, departure_day);
+
+-- Starts with the open-ended partition only; SearchPartitionService splits the daily partitions off it
+-- on its first run.
+ALTER TABLE search_rides
+    PARTITION BY RANGE COLUMNS (departure_day) (
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
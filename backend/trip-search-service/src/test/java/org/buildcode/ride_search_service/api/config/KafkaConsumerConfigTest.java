@@ -0,0 +1,107 @@
+package org.buildcode.ride_search_service.api.config;
+
+import org.buildcode.ride_search_service.api.constants.KafkaConstants;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.dto.SearchProjectionProperties;
+import org.buildcode.ride_search_service.data.mapper.RideEventMapper;
+import org.buildcode.ride_search_service.listener.RideEventListener;
+import org.buildcode.ride_search_service.listener.SavedSearchMatchListener;
+import org.buildcode.ride_search_service.service.RouteIndexService;
+import org.buildcode.ride_search_service.service.SavedSearchService;
+import org.buildcode.ride_search_service.service.SearchProjectionTracker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {KafkaConsumerConfig.class, SearchProjectionTracker.class, SearchProjectionProperties.class,
+        RideEventListener.class, SavedSearchMatchListener.class},
+        properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 1, topics = {KafkaConstants.RIDE_CREATED_TOPIC, KafkaConstants.RIDE_UPDATED_TOPIC})
+class KafkaConsumerConfigTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Autowired
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @SpyBean
+    private SearchProjectionTracker searchProjectionTracker;
+
+    @MockBean
+    private RideEventMapper rideEventMapper;
+
+    @MockBean
+    private RouteIndexService routeIndexService;
+
+    @MockBean
+    private SavedSearchService savedSearchService;
+
+    @Test
+    void listenersOnTheDefaultFactoryNeitherReplayNorTouchTheProjectionState() throws Exception {
+        when(rideEventMapper.toRideEventPayload(any())).thenAnswer(invocation -> {
+            RideEventPayload payload = new RideEventPayload();
+            payload.setId(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8));
+            return payload;
+        });
+        send("before-start");
+
+        searchProjectionTracker.onBootstrapCompleted();
+        listener(KafkaConstants.SEARCH_PROJECTION_LISTENER).start();
+        await().atMost(TIMEOUT).until(searchProjectionTracker::isCaughtUp);
+        verify(routeIndexService).onRideCreated(any());
+
+        MessageListenerContainer matcher = listener(KafkaConstants.SAVED_SEARCH_LISTENER);
+        matcher.start();
+        ContainerTestUtils.waitForAssignment(matcher, 1);
+        // The matcher starts at the end of the topic, so it only sees rides published from now on
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            send("after-start");
+            verify(savedSearchService, atLeastOnce()).onRideCreated(any());
+        });
+        matcher.stop();
+
+        ArgumentCaptor<RideEventPayload> matched = ArgumentCaptor.forClass(RideEventPayload.class);
+        verify(savedSearchService, atLeastOnce()).onRideCreated(matched.capture());
+        assertThat(matched.getAllValues()).extracting(RideEventPayload::getId).containsOnly("after-start");
+
+        verify(searchProjectionTracker, times(1)).onPartitionsAssigned(any(), any());
+        verify(searchProjectionTracker, never()).onPartitionsRevokedAfterCommit(any(), any());
+        verify(searchProjectionTracker, never()).onPartitionsLost(any(), any());
+        assertThat(searchProjectionTracker.isCaughtUp()).isTrue();
+        assertThat(searchProjectionTracker.getLaggingPartitionCount()).isZero();
+    }
+
+    private MessageListenerContainer listener(String id) {
+        return kafkaListenerEndpointRegistry.getListenerContainer(id);
+    }
+
+    private void send(String value) throws Exception {
+        kafkaTemplate.send(KafkaConstants.RIDE_CREATED_TOPIC, value.getBytes(StandardCharsets.UTF_8)).get();
+    }
+}
@@ -0,0 +1,121 @@
+package org.buildcode.ride_search_service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.buildcode.ride_search_service.api.model.v1_0.RideSearchResultResponseModel;
+import org.buildcode.ride_search_service.data.dto.SearchCacheProperties;
+import org.buildcode.ride_search_service.index.DepartureWindow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchResultCacheTest {
+
+    private static final SearchCacheKey KEY = SearchCacheKey.ofPage("A", "B", 1, DepartureWindow.ANY, 0, 3);
+
+    @Test
+    void identicalConcurrentSearchesShareOneExecution() throws Exception {
+        SearchResultCache cache = cache(false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        RideSearchResultResponseModel result = RideSearchResultResponseModel.builder().rides(List.of()).build();
+
+        CompletableFuture<RideSearchResultResponseModel> leader = CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<RideSearchResultResponseModel> waiter = CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> {
+            executions.incrementAndGet();
+            return RideSearchResultResponseModel.builder().build();
+        }));
+        while (cache.getCoalesceRatio() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(executions).hasValue(1);
+        assertThat(cache.getInFlight()).isZero();
+    }
+
+    @Test
+    void invalidationDetachesTheSearchInFlight() throws Exception {
+        SearchResultCache cache = cache(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RideSearchResultResponseModel stale = RideSearchResultResponseModel.builder().status("stale").build();
+        RideSearchResultResponseModel fresh = RideSearchResultResponseModel.builder().status("fresh").build();
+
+        CompletableFuture<RideSearchResultResponseModel> leader = CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> {
+            started.countDown();
+            await(release);
+            return stale;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate(KEY.getRouteKey());
+
+        assertThat(cache.get(KEY, () -> fresh)).isSameAs(fresh);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        assertThat(cache.get(KEY, () -> stale)).isSameAs(fresh);
+    }
+
+    @Test
+    void asyncMissRunsOnTheExecutorAndIsJoinedWithoutWaiting() throws Exception {
+        SearchResultCache cache = cache(true);
+        List<Runnable> queued = new ArrayList<>();
+        RideSearchResultResponseModel result = RideSearchResultResponseModel.builder().rides(List.of()).build();
+
+        CompletableFuture<RideSearchResultResponseModel> leader = cache.getAsync(KEY, queued::add, () -> result);
+        CompletableFuture<RideSearchResultResponseModel> waiter = cache.getAsync(KEY, queued::add, () -> result);
+        assertThat(queued).hasSize(1);
+        assertThat(leader).isNotDone();
+        assertThat(waiter).isNotDone();
+
+        queued.get(0).run();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(cache.getAsync(KEY, queued::add, () -> null)).isCompletedWithValue(result);
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void asyncSearchRefusedByTheExecutorIsNotLeftInFlight() {
+        SearchResultCache cache = cache(true);
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        assertThatThrownBy(() -> cache.getAsync(KEY, saturated, () -> null))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(cache.getInFlight()).isZero();
+    }
+
+    private static SearchResultCache cache(boolean enabled) {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setEnabled(enabled);
+        return new SearchResultCache(properties, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.buildcode.ride_search_service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarRideSnapshotTest {
+
+    private static final Instant SATURDAY = Instant.parse("2024-11-16T00:00:00Z");
+
+    @Test
+    void scansAcrossCorridorsByLocationPrefixWindowSeatsAndFare() {
+        ColumnarRideSnapshot snapshot = new ColumnarRideSnapshot();
+        snapshot.upsert(ride("late", "Koramangala 5th Block", "Whitefield", 3, SATURDAY.plus(Duration.ofHours(20)), 200));
+        snapshot.upsert(ride("early", "Koramangala 1st Block", "Airport", 2, SATURDAY.plus(Duration.ofHours(8)), 400));
+        snapshot.upsert(ride("full", "Koramangala", "Hebbal", 1, SATURDAY.plus(Duration.ofHours(9)), 150));
+        snapshot.upsert(ride("elsewhere", "MG Road", "Whitefield", 3, SATURDAY.plus(Duration.ofHours(9)), 150));
+        snapshot.upsert(ride("monday", "Koramangala", "Whitefield", 3, SATURDAY.plus(Duration.ofDays(2)), 150));
+
+        ColumnScan weekend = ColumnScan.builder()
+                .sources(List.of("koramangala"))
+                .window(DepartureWindow.of(SATURDAY, SATURDAY.plus(Duration.ofDays(2)).minusMillis(1)))
+                .build();
+        ColumnScanResult all = snapshot.scan(weekend, 10);
+        assertThat(all.getMatched()).isEqualTo(3);
+        assertThat(all.getRideIds()).containsExactly("early", "full", "late");
+
+        ColumnScan seatsAndFare = weekend.toBuilder().minSeats(2).maxFare(300).build();
+        assertThat(snapshot.scan(seatsAndFare, 10).getRideIds()).containsExactly("late");
+
+        ColumnScanResult countOnly = snapshot.scan(weekend, 0);
+        assertThat(countOnly.getMatched()).isEqualTo(3);
+        assertThat(countOnly.getRideIds()).isEmpty();
+    }
+
+    @Test
+    void updatesInPlaceAndReusesRowsOfRemovedRides() {
+        ColumnarRideSnapshot snapshot = new ColumnarRideSnapshot();
+        for (int i = 0; i < 2_000; i++) {
+            snapshot.upsert(ride("ride-" + i, "MG Road", "Whitefield", 1, SATURDAY.plusSeconds(i), 100));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            snapshot.remove("ride-" + i);
+        }
+        snapshot.upsert(ride("ride-1999", "MG Road", "Airport", 1, SATURDAY, 100));
+        snapshot.upsert(ride("new", "MG Road", "Whitefield", 1, SATURDAY, 100));
+
+        assertThat(snapshot.size()).isEqualTo(1_001);
+        ColumnScanResult toWhitefield = snapshot.scan(ColumnScan.builder().destinations(List.of("Whitefield")).build(), 2);
+        assertThat(toWhitefield.getMatched()).isEqualTo(1_000);
+        assertThat(toWhitefield.getRideIds()).containsExactly("new", "ride-1000");
+    }
+
+    private static IndexedRide ride(String id, String source, String destination, int seats, Instant departureAt,
+                                    long fare) {
+        return IndexedRide.builder()
+                .id(id)
+                .source(source)
+                .destination(destination)
+                .seats(seats)
+                .departureAt(departureAt.toEpochMilli())
+                .fare(fare)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package org.buildcode.ride_search_service.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationIndexTest {
+
+    @Test
+    void normalizationJoinsAbbreviationsAndDropsPunctuation() {
+        assertThat(LocationNormalizer.normalize(" M.G. Road ")).isEqualTo("mg road");
+        assertThat(LocationNormalizer.normalize("mg  road")).isEqualTo("mg road");
+        assertThat(LocationNormalizer.normalize("HSR Layout, Sector-2")).isEqualTo("hsr layout sector 2");
+    }
+
+    @Test
+    void suggestOffersSimilarNamesRankedBySimilarity() {
+        LocationIndex index = new LocationIndex();
+        index.add("MG Road");
+        index.add("Koramangala");
+        index.add("Koramangala 5th Block");
+        index.add("Whitefield");
+
+        assertThat(index.suggest("Koramangla", 5)).extracting(LocationMatch::getName)
+                .containsExactly("koramangala", "koramangala 5th block");
+        assertThat(index.suggest("Whitfeild", 5)).extracting(LocationMatch::getName).containsExactly("whitefield");
+        assertThat(index.suggest("Koramangla", 1)).hasSize(1);
+        assertThat(index.suggest("Airport", 5)).isEmpty();
+    }
+
+    @Test
+    void suggestLeavesKnownNamesAlone() {
+        LocationIndex index = new LocationIndex();
+        index.add("Andheri West");
+        index.add("Andheri East");
+
+        assertThat(index.suggest("andheri east", 5)).isEmpty();
+        assertThat(index.suggest(" Andheri  East. ", 5)).isEmpty();
+        assertThat(index.suggest("Andheri Eest", 5)).extracting(LocationMatch::getName).first().isEqualTo("andheri east");
+    }
+
+    @Test
+    void trieSuggestsPrefixMatchesByRideCountAndTracksRemovals() {
+        LocationTrie trie = new LocationTrie();
+        trie.add("Koramangala");
+        trie.add("Koramangala 5th Block");
+        trie.add("Koramangala 5th Block");
+        trie.add("Kormangala");
+        trie.add("Whitefield");
+
+        assertThat(trie.suggest("kora", 5)).extracting(LocationSuggestion::getLocation)
+                .containsExactly("Koramangala 5th Block", "Koramangala");
+        assertThat(trie.suggest("Kor", 5)).extracting(LocationSuggestion::getRides).containsExactly(2, 1, 1);
+        assertThat(trie.suggest("ko", 1)).extracting(LocationSuggestion::getLocation)
+                .containsExactly("Koramangala 5th Block");
+
+        trie.remove("Koramangala 5th Block");
+        trie.remove("Koramangala 5th Block");
+        trie.remove("Airport");
+        assertThat(trie.suggest("koramangala", 5)).extracting(LocationSuggestion::getLocation)
+                .containsExactly("Koramangala");
+        assertThat(trie.suggest("x", 5)).isEmpty();
+    }
+}
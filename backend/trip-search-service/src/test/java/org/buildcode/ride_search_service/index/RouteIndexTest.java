@@ -0,0 +1,216 @@
+package org.buildcode.ride_search_service.index;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteIndexTest {
+
+    @Test
+    void searchReturnsCorridorRidesInDepartureOrder() {
+        RouteIndex index = new RouteIndex();
+        index.upsert(ride("r1", "MG Road", "Airport", 2, 3_000L));
+        index.upsert(ride("r2", "mg road ", "airport", 4, 1_000L));
+        index.upsert(ride("r3", "MG Road", "Whitefield", 4, 2_000L));
+
+        RouteIndexPage page = index.search("MG  ROAD", "Airport", 1, 0, 10);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getRides().stream().map(IndexedRide::getId).collect(Collectors.toList()))
+                .containsExactly("r2", "r1");
+    }
+
+    @Test
+    void searchAppliesSeatFilterAndPaging() {
+        RouteIndex index = new RouteIndex();
+        for (int i = 0; i < 10; i++) {
+            index.upsert(ride("r" + i, "A", "B", i % 2 == 0 ? 1 : 3, i));
+        }
+
+        RouteIndexPage page = index.search("A", "B", 2, 2, 2);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getRides().stream().map(IndexedRide::getId).collect(Collectors.toList()))
+                .containsExactly("r5", "r7");
+    }
+
+    @Test
+    void searchAnswersSeveralSeatThresholdsInOnePass() {
+        RouteIndex index = new RouteIndex();
+        for (int i = 0; i < 6; i++) {
+            index.upsert(ride("r" + i, "A", "B", i, i));
+        }
+
+        List<RouteIndexPage> pages = index.search("A", "B", new int[]{1, 4}, DepartureWindow.ANY, 1, 2);
+
+        assertThat(pages.get(0).getTotalElements()).isEqualTo(5);
+        assertThat(pages.get(0).getRides()).extracting(IndexedRide::getId).containsExactly("r2", "r3");
+        assertThat(pages.get(1).getTotalElements()).isEqualTo(2);
+        assertThat(pages.get(1).getRides()).extracting(IndexedRide::getId).containsExactly("r5");
+    }
+
+    @Test
+    void searchCountsFacetsOverAllMatchesNotJustThePage() {
+        RouteIndex index = new RouteIndex();
+        index.upsert(ride("r1", "A", "B", 1, 1_000L).toBuilder().carModel("Swift").fare(80).build());
+        index.upsert(ride("r2", "A", "B", 2, 2_000L).toBuilder().carModel("Swift").fare(300).build());
+        index.upsert(ride("r3", "A", "B", 5, 3_000L).toBuilder().carModel("Innova").fare(900).build());
+        index.upsert(ride("r4", "A", "B", 4, IndexedRide.UNKNOWN_DEPARTURE));
+
+        FacetCounts facets = new FacetCounts();
+        RouteIndexPage page = index.search("A", "B", 1, DepartureWindow.ANY, 0, 1, facets);
+
+        assertThat(page.getRides()).extracting(IndexedRide::getId).containsExactly("r1");
+        assertThat(facets.getSeats()).containsExactly(1, 1, 2);
+        assertThat(facets.getCarModels()).containsOnlyKeys("Swift", "Innova");
+        assertThat(facets.getCarModels().get("Swift")).containsExactly(2);
+        assertThat(facets.getFareBands()).containsExactly(1, 0, 1, 1);
+        assertThat(Arrays.stream(facets.getDepartureHours()).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void searchAfterContinuesFromCursorPosition() {
+        RouteIndex index = new RouteIndex();
+        index.upsert(ride("r1", "A", "B", 2, 1_000L));
+        index.upsert(ride("r2", "A", "B", 2, 1_000L));
+        index.upsert(ride("r3", "A", "B", 2, 2_000L));
+        index.upsert(ride("r4", "A", "B", 2, IndexedRide.UNKNOWN_DEPARTURE));
+
+        IndexedRide cursor = IndexedRide.builder().id("r1").departureAt(1_000L).build();
+
+        assertThat(index.searchAfter("A", "B", 1, cursor, 10).stream().map(IndexedRide::getId).collect(Collectors.toList()))
+                .containsExactly("r2", "r3", "r4");
+        assertThat(index.count("A", "B", 1)).isEqualTo(4);
+    }
+
+    @Test
+    void departureWindowSpansBucketsInOrderAndSkipsUndatedRides() {
+        RouteIndex index = new RouteIndex();
+        long hour = 3_600_000L;
+        index.upsert(ride("early", "A", "B", 2, 8 * hour));
+        index.upsert(ride("first", "A", "B", 2, 9 * hour));
+        index.upsert(ride("second", "A", "B", 2, 9 * hour + Corridor.BUCKET_MILLIS + 1));
+        index.upsert(ride("third", "A", "B", 2, 11 * hour));
+        index.upsert(ride("late", "A", "B", 2, 11 * hour + 1));
+        index.upsert(ride("undated", "A", "B", 2, IndexedRide.UNKNOWN_DEPARTURE));
+        DepartureWindow window = new DepartureWindow(9 * hour, 11 * hour);
+
+        assertThat(index.search("A", "B", 1, window, 0, 10).getRides())
+                .extracting(IndexedRide::getId).containsExactly("first", "second", "third");
+        assertThat(index.searchAfter("A", "B", 1, window, index.get("first"), 10))
+                .extracting(IndexedRide::getId).containsExactly("second", "third");
+        assertThat(index.count("A", "B", 1, DepartureWindow.of(null, Instant.ofEpochMilli(12 * hour))))
+                .isEqualTo(5);
+    }
+
+    @Test
+    void upsertMovesRideBetweenCorridorsAndRemoveDropsIt() {
+        RouteIndex index = new RouteIndex();
+        index.upsert(ride("r1", "A", "B", 2, 1_000L));
+        index.upsert(ride("r1", "A", "C", 2, 1_000L));
+
+        assertThat(index.search("A", "B", 1, 0, 10).getTotalElements()).isZero();
+        assertThat(index.search("A", "C", 1, 0, 10).getTotalElements()).isEqualTo(1);
+
+        index.remove("r1");
+
+        assertThat(index.search("A", "C", 1, 0, 10).getTotalElements()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void expireBeforeDropsWholeDaysAndKeepsUndatedRides() {
+        long day = RouteIndex.DAY_MILLIS;
+        RouteIndex index = new RouteIndex();
+        index.upsert(ride("old", "A", "B", 1, day + 1_000L));
+        index.upsert(ride("moved", "A", "B", 1, day + 2_000L));
+        index.upsert(ride("moved", "A", "C", 1, 3 * day));
+        index.upsert(ride("today", "A", "B", 1, 2 * day + 5_000L));
+        index.upsert(ride("undated", "A", "B", 1, IndexedRide.UNKNOWN_DEPARTURE));
+
+        List<IndexedRide> expired = index.expireBefore(2 * day + 10_000L);
+
+        assertThat(expired).extracting(IndexedRide::getId).containsExactly("old");
+        assertThat(index.get("old")).isNull();
+        assertThat(index.search("A", "B", 1, 0, 10).getRides()).extracting(IndexedRide::getId)
+                .containsExactly("today", "undated");
+        assertThat(index.expireBefore(3 * day)).extracting(IndexedRide::getId).containsExactly("today");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchNearbyMatchesBothEndpointsWithinRadiusRankedByDistance() {
+        RouteIndex index = new RouteIndex();
+        // Pickup ~300 m and ~700 m from the rider, drop-offs ~100 m away
+        index.upsert(located("near", 12.9716, 77.5973, 12.9352, 77.6245));
+        index.upsert(located("farther", 12.9716, 77.6011, 12.9352, 77.6245));
+        // Drop-off ~5 km away
+        index.upsert(located("wrong-destination", 12.9716, 77.5973, 12.9800, 77.6600));
+        // Pickup in another city
+        index.upsert(located("elsewhere", 19.0760, 72.8777, 12.9352, 77.6245));
+
+        List<String> ids = index.searchNearby(12.9716, 77.5946, 12.9361, 77.6245, 1_000, 1, DepartureWindow.ANY).stream()
+                .map(match -> match.getRide().getId())
+                .collect(Collectors.toList());
+
+        assertThat(ids).containsExactly("near", "farther");
+    }
+
+    @Test
+    void searchEnRouteRequiresPickupBeforeDropOffWithinDetour() {
+        RouteIndex index = new RouteIndex();
+        // ~11 km north-bound route, cut into several pieces
+        index.upsert(routed("north", 12.90, 77.60, 13.00, 77.60));
+        index.upsert(routed("south", 13.00, 77.60, 12.90, 77.60));
+        index.upsert(routed("parallel", 12.90, 77.63, 13.00, 77.63));
+
+        // Pickup ~325 m and drop-off ~110 m east of the route
+        List<EnRouteRide> matches = index.searchEnRoute(12.92, 77.603, 12.98, 77.601, 1_000, 1, DepartureWindow.ANY);
+
+        assertThat(matches).extracting(match -> match.getRide().getId()).containsExactly("north");
+        assertThat(matches.get(0).getDetourMeters()).isBetween(800.0, 950.0);
+
+        index.remove("north");
+        assertThat(index.searchEnRoute(12.92, 77.603, 12.98, 77.601, 1_000, 1, DepartureWindow.ANY)).isEmpty();
+    }
+
+    @Test
+    void polylineDecodesReferenceRoute() {
+        assertThat(Polyline.decode("_p~iF~ps|U_ulLnnqC_mqNvxq`@"))
+                .containsExactly(new double[]{38.5, -120.2, 40.7, -120.95, 43.252, -126.453},
+                        Offset.offset(1e-9));
+    }
+
+    private static IndexedRide routed(String id, double fromLatitude, double fromLongitude,
+                                      double toLatitude, double toLongitude) {
+        return ride(id, "A", "B", 2, 0).toBuilder()
+                .route(new double[]{fromLatitude, fromLongitude, toLatitude, toLongitude})
+                .build();
+    }
+
+    private static IndexedRide located(String id, double sourceLatitude, double sourceLongitude,
+                                       double destinationLatitude, double destinationLongitude) {
+        return ride(id, "A", "B", 2, 0).toBuilder()
+                .sourceLatitude(sourceLatitude)
+                .sourceLongitude(sourceLongitude)
+                .destinationLatitude(destinationLatitude)
+                .destinationLongitude(destinationLongitude)
+                .build();
+    }
+
+    private static IndexedRide ride(String id, String source, String destination, int seats, long departureAt) {
+        return IndexedRide.builder()
+                .id(id)
+                .source(source)
+                .destination(destination)
+                .seats(seats)
+                .departureAt(departureAt)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package org.buildcode.ride_search_service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StandingQueryIndexTest {
+
+    private static final Instant MORNING = Instant.parse("2024-11-12T08:00:00Z");
+
+    @Test
+    void matchesQueriesOnTheRideCorridorBySeatsAndWindow() {
+        StandingQueryIndex index = new StandingQueryIndex();
+        index.register(query("any", "MG Road", "Whitefield", 1, DepartureWindow.ANY));
+        index.register(query("morning", "mg road", "WHITEFIELD", 2,
+                DepartureWindow.of(MORNING, MORNING.plus(Duration.ofHours(2)))));
+        index.register(query("month", "MG Road", "Whitefield", 1,
+                DepartureWindow.of(MORNING.minus(Duration.ofDays(60)), MORNING.plus(Duration.ofDays(60)))));
+        index.register(query("other", "MG Road", "Airport", 1, DepartureWindow.ANY));
+
+        assertThat(index.match(ride(3, MORNING.plus(Duration.ofHours(1))))).extracting(StandingQuery::getId)
+                .containsExactlyInAnyOrder("any", "morning", "month");
+        assertThat(index.match(ride(1, MORNING.plus(Duration.ofHours(1))))).extracting(StandingQuery::getId)
+                .containsExactlyInAnyOrder("any", "month");
+        assertThat(index.match(ride(3, MORNING.plus(Duration.ofDays(1))))).extracting(StandingQuery::getId)
+                .containsExactlyInAnyOrder("any", "month");
+        assertThat(index.match(ride(3, null))).extracting(StandingQuery::getId).containsExactly("any");
+    }
+
+    @Test
+    void replaceAllDropsRemovedQueriesAndMovesChangedOnes() {
+        StandingQueryIndex index = new StandingQueryIndex();
+        index.register(query("a", "MG Road", "Whitefield", 1, DepartureWindow.ANY));
+        index.register(query("b", "MG Road", "Whitefield", 1, DepartureWindow.ANY));
+
+        index.replaceAll(List.of(query("a", "MG Road", "Airport", 1, DepartureWindow.ANY)));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match(ride(1, MORNING))).isEmpty();
+    }
+
+    private static StandingQuery query(String id, String source, String destination, int minSeats,
+                                       DepartureWindow window) {
+        return new StandingQuery(id, "rider-" + id, source, destination, minSeats, window);
+    }
+
+    private static IndexedRide ride(int seats, Instant departureAt) {
+        return IndexedRide.builder()
+                .id("ride")
+                .source("MG Road")
+                .destination("Whitefield")
+                .seats(seats)
+                .departureAt(departureAt != null ? departureAt.toEpochMilli() : IndexedRide.UNKNOWN_DEPARTURE)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package org.buildcode.ride_search_service.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTest {
+
+    @Test
+    void keepsLowestScoresBestFirstWithTiesInArrivalOrder() {
+        TopK<String> top = new TopK<>(3);
+        top.offer("a", 5);
+        top.offer("b", 1);
+        top.offer("c", 4);
+        top.offer("d", 1);
+        top.offer("e", 9);
+        top.offer("f", 0.5);
+
+        assertThat(top.getOffered()).isEqualTo(6);
+        assertThat(top.drainSorted()).containsExactly("f", "b", "d");
+    }
+
+    @Test
+    void holdsFewerItemsThanCapacity() {
+        TopK<String> top = new TopK<>(5);
+        top.offer("a", 2);
+        top.offer("b", 1);
+
+        assertThat(top.drainSorted()).containsExactly("b", "a");
+        assertThat(new TopK<String>(0).drainSorted()).isEmpty();
+    }
+}
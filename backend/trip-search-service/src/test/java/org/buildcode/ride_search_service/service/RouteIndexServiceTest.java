@@ -0,0 +1,138 @@
+package org.buildcode.ride_search_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.buildcode.ride_search_service.api.constants.RideStatus;
+import org.buildcode.ride_search_service.cache.SearchResultCache;
+import org.buildcode.ride_search_service.data.dto.RideEventPayload;
+import org.buildcode.ride_search_service.data.dto.SearchCacheProperties;
+import org.buildcode.ride_search_service.data.entity.Ride;
+import org.buildcode.ride_search_service.data.mapper.RideMapper;
+import org.buildcode.ride_search_service.index.ColumnarRideSnapshot;
+import org.buildcode.ride_search_service.index.IndexedRide;
+import org.buildcode.ride_search_service.index.LocationIndex;
+import org.buildcode.ride_search_service.index.LocationTrie;
+import org.buildcode.ride_search_service.index.RouteIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteIndexServiceTest {
+
+    private final RouteIndex routeIndex = new RouteIndex();
+
+    private final RouteIndexService routeIndexService = new RouteIndexService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(routeIndexService, "routeIndex", routeIndex);
+        ReflectionTestUtils.setField(routeIndexService, "rideMapper", new RideMapper());
+        ReflectionTestUtils.setField(routeIndexService, "searchResultCache",
+                new SearchResultCache(new SearchCacheProperties(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(routeIndexService, "locationIndex", new LocationIndex());
+        ReflectionTestUtils.setField(routeIndexService, "locationTrie", new LocationTrie());
+        ReflectionTestUtils.setField(routeIndexService, "columnarRideSnapshot", new ColumnarRideSnapshot());
+    }
+
+    @Test
+    void replayedEventsOlderThanTheSnapshotAreIgnored() {
+        routeIndexService.load(List.of(snapshotRide(2, 250L, 20L)));
+
+        routeIndexService.onRideCreated(created(4, 300L));
+        routeIndexService.onRideUpdated(update(10L, 3, null, null));
+        routeIndexService.onRideUpdated(update(20L, null, 200L, null));
+
+        IndexedRide ride = routeIndex.get("r1");
+        assertThat(ride.getSeats()).isEqualTo(2);
+        assertThat(ride.getFare()).isEqualTo(250L);
+        assertThat(ride.getVersion()).isEqualTo(20L);
+
+        routeIndexService.onRideUpdated(update(21L, 1, null, null));
+
+        assertThat(routeIndex.get("r1").getSeats()).isEqualTo(1);
+        assertThat(routeIndex.get("r1").getFare()).isEqualTo(250L);
+        assertThat(routeIndex.get("r1").getVersion()).isEqualTo(21L);
+    }
+
+    @Test
+    void replayedEventsDoNotBringBackARemovedRide() {
+        routeIndexService.load(List.of(snapshotRide(2, 250L, 20L)));
+
+        routeIndexService.onRideUpdated(update(30L, null, null, "CANCELLED"));
+        routeIndexService.onRideCreated(created(4, 300L));
+        routeIndexService.onRideUpdated(update(25L, 3, null, "ACTIVE"));
+
+        assertThat(routeIndex.get("r1")).isNull();
+    }
+
+    @Test
+    void unversionedUpdatesAreAppliedInArrivalOrder() {
+        routeIndexService.load(List.of(snapshotRide(2, 250L, null)));
+
+        routeIndexService.onRideUpdated(update(null, 3, null, null));
+
+        assertThat(routeIndex.get("r1").getSeats()).isEqualTo(3);
+        assertThat(routeIndex.get("r1").getVersion()).isZero();
+    }
+
+    @Test
+    void replayedRidesOfExpiredDaysAreNotIndexedAgain() {
+        routeIndexService.load(List.of());
+        routeIndexService.expireBefore(Instant.now().truncatedTo(ChronoUnit.DAYS).plus(12, ChronoUnit.HOURS));
+
+        RideEventPayload departed = created(4, 300L);
+        departed.setDepartureDate(LocalDate.now(ZoneOffset.UTC).minusDays(2).toString());
+        routeIndexService.onRideCreated(departed);
+        assertThat(routeIndex.get("r1")).isNull();
+
+        RideEventPayload upcoming = created(4, 300L);
+        upcoming.setDepartureDate(LocalDate.now(ZoneOffset.UTC).plusDays(2).toString());
+        routeIndexService.onRideCreated(upcoming);
+        assertThat(routeIndex.get("r1")).isNotNull();
+    }
+
+    private static Ride snapshotRide(int seats, long fare, Long version) {
+        Ride ride = new Ride();
+        ride.setId("r1");
+        ride.setSource("MG Road");
+        ride.setDestination("Airport");
+        ride.setUserId("driver");
+        ride.setCarModel("Swift");
+        ride.setSeats(seats);
+        ride.setFare(fare);
+        ride.setStatus(RideStatus.CREATED);
+        ride.setVersion(version);
+        return ride;
+    }
+
+    private static RideEventPayload created(int seats, long fare) {
+        RideEventPayload payload = new RideEventPayload();
+        payload.setId("r1");
+        payload.setSource("MG Road");
+        payload.setDestination("Airport");
+        payload.setOwnerId("driver");
+        payload.setSeats(seats);
+        payload.setFare(fare);
+        payload.setStatus("ACTIVE");
+        return payload;
+    }
+
+    private static RideEventPayload update(Long version, Integer seats, Long fare, String status) {
+        RideEventPayload payload = new RideEventPayload();
+        payload.setId("r1");
+        payload.setSource("MG Road");
+        payload.setDestination("Airport");
+        payload.setSeats(seats);
+        payload.setFare(fare);
+        payload.setStatus(status);
+        payload.setVersion(version);
+        return payload;
+    }
+}
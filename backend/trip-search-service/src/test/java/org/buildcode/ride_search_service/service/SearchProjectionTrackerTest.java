@@ -0,0 +1,41 @@
+package org.buildcode.ride_search_service.service;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchProjectionTrackerTest {
+
+    private static final TopicPartition CREATED = new TopicPartition("ride-created-event", 0);
+
+    private static final TopicPartition UPDATED = new TopicPartition("ride-updated-event", 0);
+
+    @Test
+    void replaysEveryRetainedEventBeforeReportingCaughtUp() {
+        SearchProjectionTracker tracker = new SearchProjectionTracker();
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.LATEST);
+        consumer.assign(List.of(CREATED, UPDATED));
+        consumer.updateBeginningOffsets(Map.of(CREATED, 40L, UPDATED, 7L));
+        consumer.updateEndOffsets(Map.of(CREATED, 100L, UPDATED, 7L));
+
+        tracker.onBootstrapCompleted();
+        tracker.onPartitionsAssigned(consumer, List.of(CREATED, UPDATED));
+
+        assertThat(consumer.position(CREATED)).isEqualTo(40L);
+        assertThat(consumer.position(UPDATED)).isEqualTo(7L);
+        assertThat(tracker.isCaughtUp()).isFalse();
+        assertThat(tracker.getLaggingPartitionCount()).isEqualTo(1);
+
+        tracker.onRecordProcessed(CREATED.topic(), CREATED.partition(), 98L);
+        assertThat(tracker.isCaughtUp()).isFalse();
+
+        tracker.onRecordProcessed(CREATED.topic(), CREATED.partition(), 99L);
+        assertThat(tracker.isCaughtUp()).isTrue();
+    }
+}
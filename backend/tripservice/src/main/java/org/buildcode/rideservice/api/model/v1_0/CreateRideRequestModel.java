@@ -49,4 +49,19 @@ public class CreateRideRequestModel {
 
     @Schema(description = "departureDate for the ride", example= "23/10/25")
     private String departureDate;
+
+    @Schema(description = "Pickup latitude", example = "40.785091")
+    private Double sourceLatitude;
+
+    @Schema(description = "Pickup longitude", example = "-73.968285")
+    private Double sourceLongitude;
+
+    @Schema(description = "Drop-off latitude", example = "40.758896")
+    private Double destinationLatitude;
+
+    @Schema(description = "Drop-off longitude", example = "-73.985130")
+    private Double destinationLongitude;
+
+    @Schema(description = "Driver's route as an encoded polyline (Google polyline format)", example = "_p~iF~ps|U_ulLnnqC_mqNvxq`@")
+    private String route;
 }
\ No newline at end of file
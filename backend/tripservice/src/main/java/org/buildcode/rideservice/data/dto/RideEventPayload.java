@@ -23,6 +23,8 @@ public class RideEventPayload {
     private String vehicleNumber;
     private RideStatus rideStatus;
     private BigInteger updatedAt;
+    // Orders the changes of a ride for consumers that may see them out of order; block number and log index of the change
+    private Long version;
     private String departureTime;
     private String departureDate;
 }
@@ -64,6 +64,21 @@ public class Ride {
     @Column(name = "departureDate", nullable = false)
     private String departureDate;
 
+    @Column(name = "sourceLatitude")
+    private Double sourceLatitude;
+
+    @Column(name = "sourceLongitude")
+    private Double sourceLongitude;
+
+    @Column(name = "destinationLatitude")
+    private Double destinationLatitude;
+
+    @Column(name = "destinationLongitude")
+    private Double destinationLongitude;
+
+    @Column(name = "route", columnDefinition = "TEXT")
+    private String route;
+
     @CreatedDate
     @Column(name = "createdAt", nullable = false)
     private Instant createdAt;
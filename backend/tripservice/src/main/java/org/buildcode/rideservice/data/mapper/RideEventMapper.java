@@ -0,0 +1,107 @@
+package org.buildcode.rideservice.data.mapper;
+
+import org.buildcode.events.NotificationEvent;
+import org.buildcode.events.RideCreatedEvent;
+import org.buildcode.events.RideUpdatedEvent;
+import org.buildcode.rideservice.data.dto.RideEventPayload;
+import org.buildcode.rideservice.data.dto.RideNotificationPayload;
+import org.buildcode.rideservice.data.entity.Ride;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * Maps rides and payloads to the events of the shared event contract. Fields are copied one by one, so nothing
+ * reaches Kafka that the contract does not declare; the owner's device token in particular never leaves.
+ */
+@Component
+public class RideEventMapper {
+
+    public RideCreatedEvent toRideCreatedEvent(Ride ride) {
+        return RideCreatedEvent.builder()
+                .id(ride.getId())
+                .ownerId(ride.getOwnerId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .seats(toLong(ride.getSeats()))
+                .fare(toLong(ride.getFare()))
+                .vehicleNumber(ride.getVehicleNumber())
+                .status(ride.getStatus() == null ? null : ride.getStatus().name())
+                .departureDate(ride.getDepartureDate())
+                .departureTime(ride.getDepartureTime())
+                .sourceLatitude(ride.getSourceLatitude())
+                .sourceLongitude(ride.getSourceLongitude())
+                .destinationLatitude(ride.getDestinationLatitude())
+                .destinationLongitude(ride.getDestinationLongitude())
+                .route(ride.getRoute())
+                .createdAt(toEpochMilli(ride.getCreatedAt()))
+                .updatedAt(toEpochMilli(ride.getUpdatedAt()))
+                .build();
+    }
+
+    public RideCreatedEvent toRideCreatedEvent(RideEventPayload payload) {
+        return RideCreatedEvent.builder()
+                .id(payload.getRideId())
+                .ownerId(payload.getOwnerId())
+                .source(payload.getSource())
+                .destination(payload.getDestination())
+                .seats(toLong(payload.getSeats()))
+                .fare(toLong(payload.getFare()))
+                .vehicleNumber(payload.getVehicleNumber())
+                .status(payload.getRideStatus() == null ? null : payload.getRideStatus().name())
+                .departureDate(payload.getDepartureDate())
+                .departureTime(payload.getDepartureTime())
+                .build();
+    }
+
+    public RideUpdatedEvent toRideUpdatedEvent(RideEventPayload payload) {
+        return RideUpdatedEvent.builder()
+                .rideId(payload.getRideId())
+                .ownerId(payload.getOwnerId())
+                .seats(toLong(payload.getSeats()))
+                .status(payload.getRideStatus() == null ? null : payload.getRideStatus().name())
+                .updatedAt(toLong(payload.getUpdatedAt()))
+                .version(payload.getVersion())
+                .source(payload.getSource())
+                .destination(payload.getDestination())
+                .fare(toLong(payload.getFare()))
+                .vehicleNumber(payload.getVehicleNumber())
+                .departureDate(payload.getDepartureDate())
+                .departureTime(payload.getDepartureTime())
+                .build();
+    }
+
+    public NotificationEvent toNotificationEvent(RideNotificationPayload payload) {
+        return NotificationEvent.builder()
+                .riderId(payload.getRiderId())
+                .ownerId(payload.getOwnerId())
+                .source(payload.getSource())
+                .destination(payload.getDestination())
+                .fare(toLong(payload.getFare()))
+                .vehicleNumber(payload.getVehicleNumber())
+                .riderStatus(payload.getRiderStatus())
+                .build();
+    }
+
+    public NotificationEvent toNotificationEvent(Ride ride) {
+        return NotificationEvent.builder()
+                .ownerId(ride.getOwnerId())
+                .source(ride.getSource())
+                .destination(ride.getDestination())
+                .fare(toLong(ride.getFare()))
+                .vehicleNumber(ride.getVehicleNumber())
+                .rideId(ride.getId())
+                .departureDate(ride.getDepartureDate())
+                .departureTime(ride.getDepartureTime())
+                .build();
+    }
+
+    private static Long toLong(BigInteger value) {
+        return value == null ? null : value.longValueExact();
+    }
+
+    private static Long toEpochMilli(Instant value) {
+        return value == null ? null : value.toEpochMilli();
+    }
+}
@@ -33,6 +33,11 @@ public class RideMapper {
         ride.setFare(createRideRequestModel.getFare());
         ride.setDepartureTime(String.valueOf(createRideRequestModel.getDepartureTime()));
         ride.setDepartureDate(String.valueOf(createRideRequestModel.getDepartureDate()));
+        ride.setSourceLatitude(createRideRequestModel.getSourceLatitude());
+        ride.setSourceLongitude(createRideRequestModel.getSourceLongitude());
+        ride.setDestinationLatitude(createRideRequestModel.getDestinationLatitude());
+        ride.setDestinationLongitude(createRideRequestModel.getDestinationLongitude());
+        ride.setRoute(createRideRequestModel.getRoute());
 
         return ride;
     }
@@ -1,6 +1,6 @@
 package org.buildcode.rideservice.usecase;
 
 public interface KafkaEventProducerService {
-    void sendEvent(String topic, String key, String value);
+    void sendEvent(String topic, String key, byte[] value);
     void close();
 }
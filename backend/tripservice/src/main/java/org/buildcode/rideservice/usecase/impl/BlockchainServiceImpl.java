@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.BaseEventResponse;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.gas.DefaultGasProvider;
 
@@ -112,6 +113,7 @@ public class BlockchainServiceImpl implements BlockchainService {
                         .ownerId(rideAcceptedEvent.ownerId)
                         .seats(rideAcceptedEvent.availableSeats)
                         .updatedAt(rideAcceptedEvent.updatedAt)
+                        .version(eventVersion(rideAcceptedEvent))
                         .rideStatus(RideStatus.fromValue(rideAcceptedEvent.status))
                         .build();
 
@@ -172,6 +174,7 @@ public class BlockchainServiceImpl implements BlockchainService {
                         .ownerId(rideUpdatedEvent.ownerId)
                         .seats(rideUpdatedEvent.availableSeats)
                         .updatedAt(rideUpdatedEvent.updatedAt)
+                        .version(eventVersion(rideUpdatedEvent))
                         .rideStatus(RideStatus.fromValue(rideUpdatedEvent.status))
                         .build();
 
@@ -207,4 +210,13 @@ public class BlockchainServiceImpl implements BlockchainService {
             throw new RuntimeException("Failed to cancel the ride on the blockchain", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Position of the event on chain, the block number in the high bits and the log index in the low 32: strictly
+     * increasing across the changes of a ride, even within one second or one block. Block numbers start at 1 for
+     * anything but the genesis block, so these versions are also above the epoch-second versions used before.
+     */
+    static long eventVersion(BaseEventResponse event) {
+        return (event.log.getBlockNumber().longValueExact() << 32) | event.log.getLogIndex().longValueExact();
+    }
+}
@@ -1,11 +1,12 @@
 package org.buildcode.rideservice.usecase.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.buildcode.events.codec.EventCodecs;
 import org.buildcode.rideservice.api.constants.KafkaConstants;
 import org.buildcode.rideservice.data.dto.RideEventPayload;
 import org.buildcode.rideservice.data.dto.RideNotificationPayload;
 import org.buildcode.rideservice.data.entity.Ride;
+import org.buildcode.rideservice.data.mapper.RideEventMapper;
 import org.buildcode.rideservice.usecase.EventHandlerService;
 import org.buildcode.rideservice.usecase.KafkaEventProducerService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,12 +20,12 @@ public class EventHandlerServiceImpl implements EventHandlerService {
     private KafkaEventProducerService kafkaEventProducerService;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private RideEventMapper rideEventMapper;
 
     public void handleRideCreatedEvent(RideEventPayload payload, String topic) {
         try {
-            String eventPayloadJson = objectMapper.writeValueAsString(payload);
-            kafkaEventProducerService.sendEvent(topic, payload.getRideId(), eventPayloadJson);
+            byte[] event = EventCodecs.RIDE_CREATED.encode(rideEventMapper.toRideCreatedEvent(payload));
+            kafkaEventProducerService.sendEvent(topic, payload.getRideId(), event);
             log.info("RideCreatedEvent successfully sent to Kafka for ride ID: {}", payload.getRideId());
         } catch (Exception e) {
             log.error("Error serializing RideCreatedEventPayload: {}", e.getMessage(), e);
@@ -33,8 +34,8 @@ public class EventHandlerServiceImpl implements EventHandlerService {
 
     public void handleRideCreatedEvent(Ride rideDetails, String topic) {
         try {
-            String eventPayloadJson = objectMapper.writeValueAsString(rideDetails);
-            kafkaEventProducerService.sendEvent(topic, rideDetails.getId(), eventPayloadJson);
+            byte[] event = EventCodecs.RIDE_CREATED.encode(rideEventMapper.toRideCreatedEvent(rideDetails));
+            kafkaEventProducerService.sendEvent(topic, rideDetails.getId(), event);
             log.info("RideCreatedEvent successfully sent to Kafka for ride ID: {}", rideDetails.getId());
         } catch (Exception e) {
             log.error("Error serializing RideCreatedEventPayload: {}", e.getMessage(), e);
@@ -43,8 +44,8 @@ public class EventHandlerServiceImpl implements EventHandlerService {
 
     public void handleRideUpdatedEvent(RideEventPayload payload) {
         try {
-            String eventPayloadJson = objectMapper.writeValueAsString(payload);
-            kafkaEventProducerService.sendEvent(KafkaConstants.RIDE_UPDATED_TOPIC, payload.getRideId(), eventPayloadJson);
+            byte[] event = EventCodecs.RIDE_UPDATED.encode(rideEventMapper.toRideUpdatedEvent(payload));
+            kafkaEventProducerService.sendEvent(KafkaConstants.RIDE_UPDATED_TOPIC, payload.getRideId(), event);
             log.info("RideUpdatedEvent successfully sent to Kafka.");
         } catch (Exception e) {
             log.error("Error serializing RideUpdatedEventPayload: {}", e.getMessage(), e);
@@ -53,8 +54,8 @@ public class EventHandlerServiceImpl implements EventHandlerService {
 
     public void handleNotificationEvent(RideNotificationPayload payload, String topic) {
         try {
-            String notificationEventPayloadJson = objectMapper.writeValueAsString(payload);
-            kafkaEventProducerService.sendEvent(topic, payload.getRiderId(), notificationEventPayloadJson);
+            byte[] event = EventCodecs.NOTIFICATION.encode(rideEventMapper.toNotificationEvent(payload));
+            kafkaEventProducerService.sendEvent(topic, payload.getRiderId(), event);
             log.info("RideNotificationEvent successfully sent to Kafka.");
         } catch (Exception e) {
             log.error("Error serializing RideNotificationEventPayload: {}", e.getMessage(), e);
@@ -63,11 +64,11 @@ public class EventHandlerServiceImpl implements EventHandlerService {
 
     public void handleNotificationEvent(Ride rideDetails, String topic) {
         try {
-            String notificationEventPayloadJson = objectMapper.writeValueAsString(rideDetails);
-            kafkaEventProducerService.sendEvent(topic, rideDetails.getId(), notificationEventPayloadJson);
+            byte[] event = EventCodecs.NOTIFICATION.encode(rideEventMapper.toNotificationEvent(rideDetails));
+            kafkaEventProducerService.sendEvent(topic, rideDetails.getId(), event);
             log.info("RideNotificationEvent successfully sent to Kafka.");
         } catch (Exception e) {
             log.error("Error serializing RideNotificationEventPayload: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package org.buildcode.rideservice.usecase.impl;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.methods.response.BaseEventResponse;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockchainServiceImplTest {
+
+    @Test
+    void eventVersionsFollowTheChainOrder() {
+        long first = BlockchainServiceImpl.eventVersion(event(41, 3));
+        long sameBlock = BlockchainServiceImpl.eventVersion(event(41, 4));
+        long nextBlock = BlockchainServiceImpl.eventVersion(event(42, 0));
+
+        assertThat(first).isLessThan(sameBlock);
+        assertThat(sameBlock).isLessThan(nextBlock);
+        // Rows written with the epoch-second versions of earlier releases must not reject the new ones
+        assertThat(BlockchainServiceImpl.eventVersion(event(1, 0))).isGreaterThan(Instant.now().getEpochSecond());
+    }
+
+    private static BaseEventResponse event(long blockNumber, long logIndex) {
+        Log log = new Log();
+        log.setBlockNumber("0x" + Long.toHexString(blockNumber));
+        log.setLogIndex("0x" + Long.toHexString(logIndex));
+        BaseEventResponse event = new BaseEventResponse();
+        event.log = log;
+        return event;
+    }
+}